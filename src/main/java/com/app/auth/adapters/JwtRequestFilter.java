@@ -1,8 +1,12 @@
 package com.app.auth.adapters;
 
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -14,22 +18,41 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 
+import com.app.auth.domain.AuthenticatedUser;
+import com.app.auth.domain.JwtClaims;
 import com.app.auth.infrastructure.JwtUtils;
+import com.app.auth.infrastructure.VerifiedTokenCache;
 import com.app.users.application.UserDetailsServiceImpl;
+import com.app.users.application.UserStatusCache;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class JwtRequestFilter extends OncePerRequestFilter {
 
     private static final String BEARER_PREFIX = "Bearer ";
     private static final int TOKEN_START_INDEX = 7;
 
     private final JwtUtils jwtUtils;
+    private final VerifiedTokenCache verifiedTokens;
     private final UserDetailsServiceImpl userDetailsService;
+    private final UserStatusCache userStatusCache;
+    private final boolean stateless;
+
+    /**
+     * @param stateless Whether tokens carrying a user ID are trusted without
+     *                  loading the user; only a cached status check is made
+     */
+    public JwtRequestFilter(JwtUtils jwtUtils, VerifiedTokenCache verifiedTokens,
+            UserDetailsServiceImpl userDetailsService, UserStatusCache userStatusCache,
+            @Value("${app.auth.stateless:true}") boolean stateless) {
+        this.jwtUtils = jwtUtils;
+        this.verifiedTokens = verifiedTokens;
+        this.userDetailsService = userDetailsService;
+        this.userStatusCache = userStatusCache;
+        this.stateless = stateless;
+    }
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request, 
@@ -37,10 +60,13 @@ public class JwtRequestFilter extends OncePerRequestFilter {
                                   @NonNull FilterChain chain) throws ServletException, IOException {
         try {
             String jwt = extractJwtFromRequest(request);
-            if (jwt != null) {
-                String username = jwtUtils.extractUsername(jwt);
-                if (username != null) {
-                    authenticateUser(username, jwt, request);
+            if (jwt != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                // Verified at most once per request, and once per token while it is cached
+                JwtClaims claims = verifiedTokens.parse(jwt);
+                if (claims != null && stateless && claims.userId() != null) {
+                    authenticateFromClaims(claims, request);
+                } else if (claims != null) {
+                    authenticateUser(claims, request);
                 }
             }
         } catch (Exception e) {
@@ -58,17 +84,30 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         return null;
     }
 
-    private void authenticateUser(String username, String jwt, HttpServletRequest request) {
+    // Builds the Authentication from the token alone; deleted users and changed
+    // emails are caught by the bounded status cache instead of a query
+    private void authenticateFromClaims(JwtClaims claims, HttpServletRequest request) {
+        if (!userStatusCache.isActive(claims.userId(), claims.subject())) {
+            return;
+        }
+        List<SimpleGrantedAuthority> authorities = claims.roles().stream()
+            .map(SimpleGrantedAuthority::new)
+            .toList();
+        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+            new AuthenticatedUser(claims.userId(), claims.subject()), null, authorities);
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+    }
+
+    private void authenticateUser(JwtClaims claims, HttpServletRequest request) {
         try {
-            if (SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                
-                if (jwtUtils.validateToken(jwt, userDetails)) {
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                }
+            UserDetails userDetails = userDetailsService.loadUserByUsername(claims.subject());
+
+            if (jwtUtils.validateToken(claims, userDetails)) {
+                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                    userDetails, null, userDetails.getAuthorities());
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authToken);
             }
         } catch (Exception e) {
             log.error("Error authenticating user: {}", e.getMessage());
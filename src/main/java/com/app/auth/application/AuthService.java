@@ -1,15 +1,18 @@
 package com.app.auth.application;
 
 import java.time.Instant;
-import java.util.UUID;
 
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.app.auth.infrastructure.JwtUtils;
 import com.app.auth.infrastructure.dto.RegisterRequest;
@@ -17,18 +20,16 @@ import com.app.auth.infrastructure.dto.RegisterRequest;
 import com.app.shared.application.exception.HandlerException;
 
 import com.app.auth.domain.AuthResponse;
-import com.app.auth.domain.IJwtTokenRepository;
+import com.app.auth.domain.IRefreshTokenStore;
 import com.app.auth.domain.JwtToken;
 import com.app.auth.domain.ProfileResponse;
 
+import com.app.users.application.UserDetailsServiceImpl;
 import com.app.users.domain.IUserRepository;
 import com.app.users.domain.User;
 
-import lombok.RequiredArgsConstructor;
-
 @Service
 @Transactional
-@RequiredArgsConstructor
 public class AuthService {
     private static final String AUTH_ERROR = "Error de autenticación: %s";
     private static final String TOKEN_ERROR = "Error con el token: %s";
@@ -36,40 +37,53 @@ public class AuthService {
     private final AuthenticationManager authManager;
     private final JwtUtils jwtUtils;
     private final IUserRepository userRepo;
-    private final IJwtTokenRepository tokenRepo;
+    private final IRefreshTokenStore tokenStore;
     private final PasswordEncoder encoder;
+    private final TransactionTemplate transactionTemplate;
+
+    public AuthService(AuthenticationManager authManager, JwtUtils jwtUtils, IUserRepository userRepo,
+            IRefreshTokenStore tokenStore, PasswordEncoder encoder, PlatformTransactionManager transactionManager) {
+        this.authManager = authManager;
+        this.jwtUtils = jwtUtils;
+        this.userRepo = userRepo;
+        this.tokenStore = tokenStore;
+        this.encoder = encoder;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
 
+    // Password checks can wait for a hasher thread, so no connection is held around them;
+    // the lookups and the token issue run in their own short transactions
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public AuthResponse login(String email, String password) {
         try {
-            return generateAuthResponse(authenticate(email, password), email);
+            return generateAuthResponse(authenticate(email, password).getName());
         } catch (BadCredentialsException e) {
             throw new HandlerException(String.format(AUTH_ERROR, "Credenciales inválidas"), "AUTH_ERROR");
         }
     }
 
-    @Transactional
+    // The password is hashed before the transaction that saves the user and issues the token
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public AuthResponse register(RegisterRequest request) {
         if (userRepo.existsByEmail(request.getEmail())) {
             throw new HandlerException(String.format(AUTH_ERROR, "Email ya registrado"), "VALIDATION_ERROR");
         }
 
-        userRepo.save(new User(
-            null,
-            request.getName(),
-            request.getEmail(),
-            encoder.encode(request.getPassword())
-        ));
-
-        try {
-            return generateAuthResponse(authenticate(request.getEmail(), request.getPassword()), request.getEmail());
-        } catch (BadCredentialsException e) {
-            throw new HandlerException(String.format(AUTH_ERROR, "Error en autenticación post-registro"), "AUTH_ERROR");
-        }
+        String passwordHash = encoder.encode(request.getPassword());
+        return transactionTemplate.execute(status -> {
+            userRepo.save(new User(
+                null,
+                request.getName(),
+                request.getEmail(),
+                passwordHash
+            ));
+            return generateAuthResponse(request.getEmail());
+        });
     }
 
     @Transactional
     public AuthResponse refreshToken(String refreshToken) {
-        return tokenRepo.findByToken(refreshToken)
+        return tokenStore.findByToken(refreshToken)
             .map(this::processRefreshToken)
             .orElseThrow(() -> new HandlerException(String.format(TOKEN_ERROR, "Token no encontrado"), "TOKEN_ERROR"));
     }
@@ -85,29 +99,31 @@ public class AuthService {
         return authManager.authenticate(new UsernamePasswordAuthenticationToken(email, password));
     }
 
-    private AuthResponse generateAuthResponse(Authentication auth, String email) {
+    private AuthResponse generateAuthResponse(String email) {
         return new AuthResponse(
-            jwtUtils.generateToken(auth),
+            accessToken(email),
             createRefreshToken(email)
         );
     }
 
+    // The token carries the user ID and roles so requests skip the user lookup
+    private String accessToken(String email) {
+        User user = userRepo.findByEmail(email)
+            .orElseThrow(() -> new HandlerException(String.format(AUTH_ERROR, "Usuario no encontrado"), "USER_ERROR"));
+        return jwtUtils.generateToken(user.getId(), user.getEmail(),
+            UserDetailsServiceImpl.authoritiesOf(user).stream().map(GrantedAuthority::getAuthority).toList());
+    }
+
     private AuthResponse processRefreshToken(JwtToken token) {
         if (token.isExpired()) {
-            tokenRepo.delete(token);
+            tokenStore.revoke(token);
             throw new HandlerException(String.format(TOKEN_ERROR, "Token expirado"), "TOKEN_ERROR");
         }
-        return new AuthResponse(jwtUtils.generateToken(token.getUserEmail()), token.getToken());
+        return new AuthResponse(accessToken(token.getUserEmail()), token.getToken());
     }
 
-    @Transactional
     private String createRefreshToken(String email) {
-        tokenRepo.deleteByUserEmail(email);
-        return tokenRepo.save(JwtToken.builder()
-            .userEmail(email)
-            .token(UUID.randomUUID().toString())
-            .expiryDate(Instant.now().plusMillis(jwtUtils.getRefreshTokenDurationMs()))
-            .build())
+        return tokenStore.issue(email, Instant.now().plusMillis(jwtUtils.getRefreshTokenDurationMs()))
             .getToken();
     }
 } 
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.app.auth.domain;
+
+import java.security.Principal;
+
+/**
+ * Principal of a request authenticated from the claims of its access token,
+ * without loading the user from the database.
+ *
+ * @param id    The user's ID
+ * @param email The user's email, returned as the principal name
+ */
+public record AuthenticatedUser(
+    Long id,
+    String email
+) implements Principal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
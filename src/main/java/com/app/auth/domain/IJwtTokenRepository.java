@@ -1,10 +1,23 @@
 package com.app.auth.domain;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface IJwtTokenRepository extends JpaRepository<JwtToken, Long> {
     Optional<JwtToken> findByToken(String token);
-    void deleteByUserEmail(String userEmail);
-} 
\ No newline at end of file
+
+    // A single DELETE statement, instead of the derived query's load and delete per entity
+    @Modifying
+    @Query("DELETE FROM JwtToken t WHERE t.userEmail = :userEmail")
+    int deleteByUserEmail(@Param("userEmail") String userEmail);
+
+    @Query("SELECT t.id FROM JwtToken t WHERE t.expiryDate < :now ORDER BY t.expiryDate")
+    List<Long> findExpiredIds(@Param("now") Instant now, Pageable page);
+}
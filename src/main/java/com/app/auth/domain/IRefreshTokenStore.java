@@ -0,0 +1,40 @@
+package com.app.auth.domain;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Refresh Token Store
+ * Keeps the refresh tokens issued to users. A user holds at most one token:
+ * issuing a new one replaces the previous one.
+ */
+public interface IRefreshTokenStore {
+    /**
+     * Issues a new refresh token for a user, replacing the one they held.
+     * @param userEmail The user's email
+     * @param expiryDate When the new token expires
+     * @return The stored token
+     */
+    JwtToken issue(String userEmail, Instant expiryDate);
+
+    /**
+     * Finds a token by its value.
+     * @param token The token value presented by the client
+     * @return The stored token, expired or not
+     */
+    Optional<JwtToken> findByToken(String token);
+
+    /**
+     * Removes a token.
+     * @param token The token to remove
+     */
+    void revoke(JwtToken token);
+
+    /**
+     * Removes at most limit tokens that expired before the given instant.
+     * @param now The cutoff
+     * @param limit Maximum number of tokens to remove
+     * @return The number of tokens removed
+     */
+    int purgeExpired(Instant now, int limit);
+}
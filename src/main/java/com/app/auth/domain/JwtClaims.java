@@ -0,0 +1,24 @@
+package com.app.auth.domain;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Verified contents of an access token.
+ * Produced once per request by JwtUtils.parse after the signature and expiry
+ * have been checked, and read from there on instead of re-parsing the token.
+ *
+ * @param subject   The user the token was issued to (their email)
+ * @param userId    The user's ID, null for tokens issued before it was included
+ * @param roles     The user's roles, used as granted authorities
+ * @param issuedAt  When the token was issued
+ * @param expiresAt When the token stops being valid
+ */
+public record JwtClaims(
+    String subject,
+    Long userId,
+    List<String> roles,
+    Instant issuedAt,
+    Instant expiresAt
+) {
+}
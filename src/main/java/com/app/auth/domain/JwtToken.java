@@ -9,7 +9,10 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "refresh_tokens")
+@Table(name = "refresh_tokens", indexes = {
+    @Index(name = "idx_refresh_tokens_user_email", columnList = "user_email"),
+    @Index(name = "idx_refresh_tokens_expiry", columnList = "expiry_date")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -0,0 +1,125 @@
+package com.app.auth.infrastructure;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import com.app.shared.application.exception.HandlerException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Bounded Password Encoder
+ * Runs BCrypt hashing and verification on a small dedicated pool instead of
+ * the request threads, so a login burst cannot take every CPU away from the
+ * rest of the API. When the pool's queue is full, calls fail at once with
+ * SERVICE_UNAVAILABLE, and a call still waiting after the wait timeout gives
+ * up with the same error, so at most queue-capacity request threads are ever
+ * parked here and none for longer than the timeout. Keep queue-capacity well
+ * below server.tomcat.threads.max (200 by default) so the other endpoints
+ * always keep free request threads. Callers must not hold a database
+ * connection while they wait here, or a burst would drain the connection pool.
+ * Hash latency is exposed as auth.password{operation=encode|matches} and the
+ * queue depth as executor.queued{name="auth.password"}.
+ */
+@Component
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private static final String BUSY = "Demasiadas solicitudes de autenticación, reintente en unos segundos";
+    private static final String INTERRUPTED = "Autenticación interrumpida";
+    private static final String POOL_NAME = "auth.password";
+
+    private final BCryptPasswordEncoder bcrypt;
+    private final ThreadPoolExecutor pool;
+    private final ExecutorService executor;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final long waitTimeoutNanos;
+
+    /**
+     * @param strength BCrypt log rounds; stored hashes with fewer rounds are
+     *                 rehashed on the next successful login
+     * @param threads Threads dedicated to password work
+     * @param queueCapacity Calls allowed to wait for a thread before rejection
+     * @param waitTimeout Longest a caller waits for its result, queueing included
+     */
+    public BoundedPasswordEncoder(MeterRegistry meterRegistry,
+            @Value("${app.auth.password.strength:10}") int strength,
+            @Value("${app.auth.password.threads:2}") int threads,
+            @Value("${app.auth.password.queue-capacity:32}") int queueCapacity,
+            @Value("${app.auth.password.wait-timeout:2s}") Duration waitTimeout) {
+        this.bcrypt = new BCryptPasswordEncoder(strength);
+        AtomicInteger count = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), task -> {
+                    Thread thread = new Thread(task, "password-hasher-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, POOL_NAME);
+        this.encodeTimer = Timer.builder(POOL_NAME).tag("operation", "encode").register(meterRegistry);
+        this.matchesTimer = Timer.builder(POOL_NAME).tag("operation", "matches").register(meterRegistry);
+        this.waitTimeoutNanos = waitTimeout.toNanos();
+    }
+
+    @PreDestroy
+    void stop() {
+        pool.shutdown();
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> encodeTimer.recordCallable(() -> bcrypt.encode(rawPassword)));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> matchesTimer.recordCallable(() -> bcrypt.matches(rawPassword, encodedPassword)));
+    }
+
+    // Only compares the cost stored in the hash, so it stays on the caller's thread
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return bcrypt.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T run(Callable<T> work) {
+        Future<T> result;
+        try {
+            result = executor.submit(work);
+        } catch (RejectedExecutionException e) {
+            throw new HandlerException(BUSY, "SERVICE_UNAVAILABLE");
+        }
+        try {
+            return result.get(waitTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            throw new HandlerException(BUSY, "SERVICE_UNAVAILABLE");
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new HandlerException(INTERRUPTED, "SERVICE_UNAVAILABLE");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
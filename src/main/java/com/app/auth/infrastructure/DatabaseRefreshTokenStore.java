@@ -0,0 +1,60 @@
+package com.app.auth.infrastructure;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.app.auth.domain.IJwtTokenRepository;
+import com.app.auth.domain.IRefreshTokenStore;
+import com.app.auth.domain.JwtToken;
+
+/**
+ * Database Refresh Token Store
+ * Keeps refresh tokens in the 'refresh_tokens' table, shared by every
+ * instance. Rotation is one indexed DELETE by user plus one INSERT.
+ */
+@Repository
+@ConditionalOnProperty(name = "app.auth.refresh-tokens.store", havingValue = "database", matchIfMissing = true)
+public class DatabaseRefreshTokenStore implements IRefreshTokenStore {
+
+    private final IJwtTokenRepository tokenRepository;
+
+    public DatabaseRefreshTokenStore(IJwtTokenRepository tokenRepository) {
+        this.tokenRepository = tokenRepository;
+    }
+
+    @Override
+    @Transactional
+    public JwtToken issue(String userEmail, Instant expiryDate) {
+        tokenRepository.deleteByUserEmail(userEmail);
+        return tokenRepository.save(JwtToken.create(UUID.randomUUID().toString(), userEmail, expiryDate));
+    }
+
+    @Override
+    public Optional<JwtToken> findByToken(String token) {
+        return tokenRepository.findByToken(token);
+    }
+
+    @Override
+    @Transactional
+    public void revoke(JwtToken token) {
+        tokenRepository.deleteAllByIdInBatch(List.of(token.getId()));
+    }
+
+    // The IDs come from the expiry index; the delete is a single IN statement
+    @Override
+    @Transactional
+    public int purgeExpired(Instant now, int limit) {
+        List<Long> ids = tokenRepository.findExpiredIds(now, PageRequest.of(0, limit));
+        if (!ids.isEmpty()) {
+            tokenRepository.deleteAllByIdInBatch(ids);
+        }
+        return ids.size();
+    }
+}
@@ -0,0 +1,70 @@
+package com.app.auth.infrastructure;
+
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import com.app.auth.domain.IRefreshTokenStore;
+import com.app.auth.domain.JwtToken;
+
+/**
+ * In-Memory Refresh Token Store
+ * Keeps refresh tokens in process memory, so issuing and refreshing never
+ * touch the database. Only suitable for a single instance: tokens are lost
+ * on restart and are not seen by other nodes.
+ * Both maps are concurrent hash maps, whose per-bin locking stripes writers
+ * by key; a rotation locks only its own user's bin.
+ */
+@Repository
+@ConditionalOnProperty(name = "app.auth.refresh-tokens.store", havingValue = "memory")
+public class InMemoryRefreshTokenStore implements IRefreshTokenStore {
+
+    private final ConcurrentMap<String, JwtToken> tokens = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, String> tokenByUser = new ConcurrentHashMap<>();
+
+    @Override
+    public JwtToken issue(String userEmail, Instant expiryDate) {
+        JwtToken fresh = JwtToken.create(UUID.randomUUID().toString(), userEmail, expiryDate);
+        tokenByUser.compute(userEmail, (email, previous) -> {
+            if (previous != null) {
+                tokens.remove(previous);
+            }
+            tokens.put(fresh.getToken(), fresh);
+            return fresh.getToken();
+        });
+        return fresh;
+    }
+
+    @Override
+    public Optional<JwtToken> findByToken(String token) {
+        return Optional.ofNullable(tokens.get(token));
+    }
+
+    @Override
+    public void revoke(JwtToken token) {
+        if (tokens.remove(token.getToken(), token)) {
+            tokenByUser.remove(token.getUserEmail(), token.getToken());
+        }
+    }
+
+    @Override
+    public int purgeExpired(Instant now, int limit) {
+        int removed = 0;
+        Iterator<Map.Entry<String, JwtToken>> entries = tokens.entrySet().iterator();
+        while (removed < limit && entries.hasNext()) {
+            JwtToken token = entries.next().getValue();
+            if (token.getExpiryDate().isBefore(now)) {
+                revoke(token);
+                removed++;
+            }
+        }
+        return removed;
+    }
+}
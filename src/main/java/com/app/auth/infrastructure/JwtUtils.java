@@ -1,14 +1,18 @@
 package com.app.auth.infrastructure;
 
+import java.util.Collection;
 import java.util.Date;
-import java.util.function.Function;
+import java.util.List;
 
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import com.app.auth.domain.JwtClaims;
+
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -20,98 +24,83 @@ import lombok.extern.slf4j.Slf4j;
 @Component
 public class JwtUtils {
 
-    @Value("${app.jwtSecret}")
-    private String jwtSecret;
-
-    @Value("${app.jwtExpirationMs}")
-    private int jwtExpirationMs;
+    // Claims that let a request be authenticated without loading the user
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String ROLES_CLAIM = "roles";
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtSecret);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final int jwtExpirationMs;
 
-    public String extractUsername(String token) {
-        try {
-            return extractClaim(token, Claims::getSubject);
-        } catch (Exception e) {
-            log.error("Error extracting username from token: {}", e.getMessage());
-            return null;
-        }
+    // The key and the parser are immutable and thread-safe, so they are built once
+    public JwtUtils(@Value("${app.jwtSecret}") String jwtSecret,
+            @Value("${app.jwtExpirationMs}") int jwtExpirationMs) {
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+        this.jwtExpirationMs = jwtExpirationMs;
     }
 
-    public Date extractExpiration(String token) {
-        try {
-            return extractClaim(token, Claims::getExpiration);
-        } catch (Exception e) {
-            log.error("Error extracting expiration from token: {}", e.getMessage());
+    /**
+     * Verifies the signature and expiry of a token and reads its claims, in a
+     * single pass.
+     * @param token The compact token from the Authorization header
+     * @return The verified claims, or null if the token is invalid or expired
+     */
+    public JwtClaims parse(String token) {
+        if (token == null || token.isBlank()) {
             return null;
         }
-    }
-
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
         try {
-            final Claims claims = extractAllClaims(token);
-            return claimsResolver.apply(claims);
-        } catch (Exception e) {
-            log.error("Error extracting claim from token: {}", e.getMessage());
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            if (claims.getSubject() == null || claims.getExpiration() == null) {
+                return null;
+            }
+            Number userId = claims.get(USER_ID_CLAIM, Number.class);
+            List<?> roles = claims.get(ROLES_CLAIM, List.class);
+            return new JwtClaims(
+                    claims.getSubject(),
+                    userId == null ? null : userId.longValue(),
+                    roles == null ? List.of() : roles.stream().map(String::valueOf).toList(),
+                    claims.getIssuedAt() == null ? null : claims.getIssuedAt().toInstant(),
+                    claims.getExpiration().toInstant());
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Rejected token: {}", e.getMessage());
             return null;
         }
     }
 
-    private Claims extractAllClaims(String token) {
-        try {
-            return Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
-        } catch (Exception e) {
-            log.error("Error extracting claims from token: {}", e.getMessage());
-            throw e;
-        }
-    }
-
-    public String generateToken(Authentication authentication) {
-        return generateToken(authentication.getName());
-    }
-
-    public String generateToken(String username) {
+    /**
+     * Issues an access token carrying what is needed to authenticate its
+     * requests without a database lookup.
+     * @param userId The user's ID
+     * @param email The user's email, used as subject
+     * @param roles The user's roles
+     * @return The signed compact token
+     */
+    public String generateToken(Long userId, String email, Collection<String> roles) {
         Date now = new Date();
         return Jwts.builder()
-                .subject(username)
+                .subject(email)
+                .claim(USER_ID_CLAIM, userId)
+                .claim(ROLES_CLAIM, List.copyOf(roles))
                 .issuedAt(now)
                 .expiration(new Date(now.getTime() + jwtExpirationMs))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
-    public boolean validateToken(String token, UserDetails userDetails) {
-        try {
-            if (token == null || userDetails == null) {
-                return false;
-            }
-            final String username = extractUsername(token);
-            return username != null && 
-                   username.equals(userDetails.getUsername()) && 
-                   !isTokenExpired(token);
-        } catch (Exception e) {
-            log.error("Error validating token: {}", e.getMessage());
-            return false;
-        }
-    }
-
-    private boolean isTokenExpired(String token) {
-        try {
-            Date expiration = extractExpiration(token);
-            return expiration != null && expiration.before(new Date());
-        } catch (Exception e) {
-            log.error("Error checking token expiration: {}", e.getMessage());
-            return true;
-        }
+    /**
+     * Checks that verified claims belong to the given user.
+     * The signature and expiry were already checked by parse.
+     * @param claims The claims returned by parse
+     * @param userDetails The user loaded for the claims' subject
+     * @return true if the token was issued to this user
+     */
+    public boolean validateToken(JwtClaims claims, UserDetails userDetails) {
+        return claims != null && userDetails != null && claims.subject().equals(userDetails.getUsername());
     }
 
     public long getRefreshTokenDurationMs() {
         return jwtExpirationMs * 2L;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,56 @@
+package com.app.auth.infrastructure;
+
+import java.time.Instant;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.app.auth.domain.IRefreshTokenStore;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Refresh Token Sweeper
+ * Scheduled job that removes expired refresh tokens in bounded batches, each
+ * in its own transaction, so the store does not grow with tokens nobody
+ * presents again.
+ */
+@Slf4j
+@Component
+public class RefreshTokenSweeper {
+
+    private final IRefreshTokenStore tokenStore;
+    private final int batchSize;
+
+    public RefreshTokenSweeper(IRefreshTokenStore tokenStore,
+            @Value("${app.auth.refresh-tokens.sweep-batch-size:1000}") int batchSize) {
+        this.tokenStore = tokenStore;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Removes every token expired so far, one batch at a time.
+     * @return The number of tokens removed
+     */
+    @Scheduled(fixedDelayString = "${app.auth.refresh-tokens.sweep-interval:PT15M}",
+            initialDelayString = "${app.auth.refresh-tokens.sweep-initial-delay:PT1M}")
+    public int sweep() {
+        Instant now = Instant.now();
+        int total = 0;
+        try {
+            int removed;
+            do {
+                removed = tokenStore.purgeExpired(now, batchSize);
+                total += removed;
+            } while (removed == batchSize);
+        } catch (DataAccessException e) {
+            log.error("Refresh token sweep stopped after {} tokens", total, e);
+        }
+        if (total > 0) {
+            log.info("Removed {} expired refresh tokens", total);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,101 @@
+package com.app.auth.infrastructure;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.app.auth.domain.JwtClaims;
+import com.app.shared.infrastructure.cache.CacheFactory;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+/**
+ * Verified Token Cache
+ * Remembers the claims of tokens whose signature was already verified, keyed
+ * by a SHA-256 digest of the token, so a client reusing its access token skips
+ * the HMAC and the claims parsing on later requests.
+ * Entries never outlive the token's expiry nor the configured TTL. Rejected
+ * tokens are not cached, so garbage tokens cannot flood the cache.
+ * Hits and misses are exposed as cache.gets{cache="auth.tokens"}.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final JwtUtils jwtUtils;
+    private final Cache<ByteBuffer, JwtClaims> verified;
+
+    /**
+     * @param enabled Whether verified tokens are cached at all
+     * @param maxSize Maximum number of cached tokens
+     * @param ttl Upper bound on how long a token stays cached
+     */
+    public VerifiedTokenCache(JwtUtils jwtUtils, CacheFactory cacheFactory,
+            @Value("${app.auth.token-cache.enabled:true}") boolean enabled,
+            @Value("${app.auth.token-cache.max-size:10000}") long maxSize,
+            @Value("${app.auth.token-cache.ttl:5m}") Duration ttl) {
+        this.jwtUtils = jwtUtils;
+        this.verified = enabled ? cacheFactory.build("auth.tokens", maxSize, untilExpiry(ttl)) : null;
+    }
+
+    /**
+     * Returns the verified claims of a token, checking its signature only the
+     * first time it is seen.
+     * @param token The compact token from the Authorization header
+     * @return The verified claims, or null if the token is invalid or expired
+     */
+    public JwtClaims parse(String token) {
+        if (verified == null || token == null || token.isBlank()) {
+            return jwtUtils.parse(token);
+        }
+        ByteBuffer key = digest(token);
+        JwtClaims claims = verified.getIfPresent(key);
+        if (claims != null) {
+            // Expiry is checked again, as the cache may evict an entry slightly late
+            return claims.expiresAt().isAfter(Instant.now()) ? claims : null;
+        }
+        claims = jwtUtils.parse(token);
+        if (claims != null) {
+            verified.put(key, claims);
+        }
+        return claims;
+    }
+
+    // A collision-resistant digest, so a forged token can never hit another token's entry
+    private static ByteBuffer digest(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    private static Expiry<ByteBuffer, JwtClaims> untilExpiry(Duration ttl) {
+        long maxNanos = ttl.toNanos();
+        return new Expiry<>() {
+            @Override
+            public long expireAfterCreate(ByteBuffer key, JwtClaims claims, long currentTime) {
+                long left = Duration.between(Instant.now(), claims.expiresAt()).toNanos();
+                return Math.max(0, Math.min(left, maxNanos));
+            }
+
+            @Override
+            public long expireAfterUpdate(ByteBuffer key, JwtClaims claims, long currentTime,
+                    long currentDuration) {
+                return expireAfterCreate(key, claims, currentTime);
+            }
+
+            @Override
+            public long expireAfterRead(ByteBuffer key, JwtClaims claims, long currentTime,
+                    long currentDuration) {
+                return currentDuration;
+            }
+        };
+    }
+}
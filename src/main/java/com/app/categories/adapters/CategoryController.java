@@ -3,15 +3,29 @@ package com.app.categories.adapters;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.app.shared.adapters.BaseController;
+import com.app.shared.infrastructure.export.ExportFormat;
+import com.app.shared.infrastructure.export.ExportWriter;
+import com.app.shared.infrastructure.pagination.JsonPageWriter;
 import com.app.categories.domain.ICategoryService;
 import com.app.categories.domain.Category;
 import com.app.categories.infrastructure.dto.CategoryRequest;
 import com.app.categories.infrastructure.dto.CategoryResponse;
 import com.app.categories.infrastructure.mapper.CategoryMapper;
+import com.app.products.domain.IProductService;
+import com.app.products.domain.ProductQuery;
+import com.app.products.domain.ProductSort;
+import com.app.products.infrastructure.ProductCursor;
+import com.app.products.infrastructure.mapper.ProductMapper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -28,28 +42,93 @@ public class CategoryController extends BaseController {
 
     private final ICategoryService categoryService;
     private final CategoryMapper categoryMapper;
+    private final IProductService productService;
+    private final ProductMapper productMapper;
+    private final ObjectMapper objectMapper;
 
     /**
      * Retrieves all categories.
+     * The ETag is the catalog version, so an unchanged catalog is answered with
+     * 304 Not Modified without reading or serializing any category.
      * 
+     * @param request The current request, used to evaluate If-None-Match
      * @return ResponseEntity containing a list of CategoryResponse objects
      */
     @GetMapping
-    public ResponseEntity<List<CategoryResponse>> findAll() {
-        return handleRequest(() -> categoryService.findAll().stream()
-                .map(categoryMapper::toResponse)
-                .collect(Collectors.toList()));
+    public ResponseEntity<List<CategoryResponse>> findAll(WebRequest request) {
+        return handleConditionalRequest(request,
+                categoryService::catalogVersion,
+                version -> etag("categories", version),
+                version -> categoryService.findAll().stream()
+                        .map(categoryMapper::toResponse)
+                        .collect(Collectors.toList()));
+    }
+
+    /**
+     * Exports every category as NDJSON or CSV, streamed in constant memory.
+     * 
+     * @param format Output format: ndjson (default) or csv
+     * @param gzip   Whether to gzip the file
+     * @return ResponseEntity streaming the export as a file download
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(required = false) String format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        ExportFormat exportFormat = ExportFormat.fromParam(format);
+        return handleExportRequest("categories", exportFormat, gzip,
+                () -> ExportWriter.stream(objectMapper, exportFormat, gzip,
+                        CategoryMapper.EXPORT_COLUMNS, categoryService::streamAll));
     }
 
     /**
      * Retrieves a specific category by ID.
      * 
-     * @param id The ID of the category to retrieve
+     * The ETag is the category version; a matching If-None-Match is answered
+     * with 304 Not Modified, usually straight from the read cache.
+     * 
+     * @param id      The ID of the category to retrieve
+     * @param request The current request, used to evaluate If-None-Match
      * @return ResponseEntity containing the CategoryResponse object
      */
     @GetMapping("/{id}")
-    public ResponseEntity<CategoryResponse> findById(@PathVariable Long id) {
-        return handleRequest(() -> categoryMapper.toResponse(categoryService.findById(id)));
+    public ResponseEntity<CategoryResponse> findById(@PathVariable Long id, WebRequest request) {
+        return handleConditionalRequest(request,
+                () -> categoryService.findById(id),
+                category -> etag("v", category.getVersion()),
+                categoryMapper::toResponse);
+    }
+
+    /**
+     * Retrieves one keyset page of the products of a category.
+     * Served by the (category_id, price) index and streamed like the product listing;
+     * the ETag is the catalog version.
+     * 
+     * @param id      The ID of the category
+     * @param sort    Order of the listing: id (default), price_asc or price_desc
+     * @param limit   Page size, bounded to JsonPageWriter.MAX_LIMIT
+     * @param after   Opaque cursor taken from the previous page's nextCursor
+     * @param request The current request, used to evaluate If-None-Match
+     * @return ResponseEntity streaming {"items":[...],"nextCursor":...,"limit":n}
+     */
+    @GetMapping("/{id}/products")
+    public ResponseEntity<StreamingResponseBody> findProducts(
+            @PathVariable Long id,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after,
+            WebRequest request) {
+        return handleConditionalStreamRequest(request, MediaType.APPLICATION_JSON,
+                () -> etag("products", productService.catalogVersion()), () -> {
+            categoryService.findById(id);
+            int pageSize = JsonPageWriter.resolveLimit(limit);
+            ProductQuery query = ProductCursor.decode(
+                    new ProductQuery(null, null, id, ProductSort.fromParam(sort), null, null), after);
+            return JsonPageWriter.stream(objectMapper, pageSize,
+                    consumer -> productService.streamPage(query, pageSize + 1, consumer),
+                    productMapper::toResponse,
+                    product -> ProductCursor.encode(query.sort(), product));
+        });
     }
 
     /**
@@ -60,30 +139,34 @@ public class CategoryController extends BaseController {
      */
     @PostMapping
     public ResponseEntity<CategoryResponse> save(@Valid @RequestBody CategoryRequest request) {
-        return handleRequest(() -> {
-            Category category = categoryMapper.toEntity(request);
-            Category saved = categoryService.save(category);
-            return categoryMapper.toResponse(saved);
-        });
+        return handleVersionedRequest(
+                () -> categoryService.save(categoryMapper.toEntity(request)),
+                category -> etag("v", category.getVersion()),
+                categoryMapper::toResponse);
     }
 
     /**
      * Updates an existing category.
+     * When If-Match is sent, the update only applies if it matches the stored
+     * version; otherwise 412 Precondition Failed is returned.
      * 
      * @param request The CategoryRequest containing the updated category data
      * @param id      The ID of the category to update
+     * @param ifMatch Optional ETag of the version the client last read
      * @return ResponseEntity containing the updated CategoryResponse
      */
     @PutMapping("/{id}")
     public ResponseEntity<CategoryResponse> update(
             @Valid @RequestBody CategoryRequest request,
-            @PathVariable Long id) {
-        return handleRequest(() -> {
-            Category category = categoryService.findById(id);
-            categoryMapper.updateEntityFromRequest(category, request);
-            Category updated = categoryService.update(category, id);
-            return categoryMapper.toResponse(updated);
-        });
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return handleVersionedRequest(() -> {
+                    Category category = categoryMapper.toEntity(request);
+                    category.setVersion(versionFromIfMatch(ifMatch));
+                    return categoryService.update(category, id);
+                },
+                category -> etag("v", category.getVersion()),
+                categoryMapper::toResponse);
     }
 
     /**
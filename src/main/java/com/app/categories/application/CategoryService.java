@@ -1,6 +1,7 @@
 package com.app.categories.application;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -23,6 +24,16 @@ public class CategoryService implements ICategoryService {
         return categoryDatasource.findAll();
     }
 
+    @Override
+    public void streamAll(Consumer<Category> consumer) {
+        categoryDatasource.streamAll(consumer);
+    }
+
+    @Override
+    public long catalogVersion() {
+        return categoryDatasource.catalogVersion();
+    }
+
     @Override
     public Category findById(Long id) {
         return categoryDatasource.findById(id);
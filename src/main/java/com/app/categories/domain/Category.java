@@ -1,5 +1,8 @@
 package com.app.categories.domain;
 
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
+
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -12,6 +15,7 @@ import lombok.AllArgsConstructor;
  */
 @Entity
 @Table(name = "categories")
+@BatchSize(size = 50)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -38,4 +42,43 @@ public class Category {
     @Column(nullable = false)
     private String description;
 
-} 
\ No newline at end of file
+    /**
+     * Number of products in the category.
+     * Maintained incrementally by product writes, never recomputed with COUNT(*).
+     */
+    @ColumnDefault("0")
+    @Column(name = "product_count", nullable = false)
+    private Long productCount = 0L;
+
+    /**
+     * Optimistic lock version, incremented on every update.
+     * Exposed to clients as the category's ETag.
+     */
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    /**
+     * Creates a detached copy of this category.
+     * Used by the read cache so cached instances are never shared with callers.
+     * @return A new Category with the same field values
+     */
+    public Category copy() {
+        return new Category(id, name, description, productCount, version);
+    }
+
+    /**
+     * Creates a detached category holding only its ID.
+     * Used to reference a category from a product row without loading it.
+     * @param id The category ID, may be null
+     * @return A category stub, or null when the ID is null
+     */
+    public static Category ofId(Long id) {
+        if (id == null) {
+            return null;
+        }
+        Category category = new Category();
+        category.setId(id);
+        return category;
+    }
+}
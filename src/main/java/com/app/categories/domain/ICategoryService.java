@@ -1,6 +1,7 @@
 package com.app.categories.domain;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Category Service Interface
@@ -14,6 +15,20 @@ public interface ICategoryService {
      */
     List<Category> findAll();
 
+    /**
+     * Streams every category in id order, for exports.
+     * @param consumer Receives each category
+     */
+    void streamAll(Consumer<Category> consumer);
+
+    /**
+     * Returns the catalog-wide change counter.
+     * Any product or category write increments it, so it can serve as the ETag
+     * of catalog collections without reading any rows.
+     * @return The current catalog version
+     */
+    long catalogVersion();
+
     /**
      * Retrieves a specific Category by its ID.
      * @param id The category ID to search for
@@ -1,12 +1,24 @@
 package com.app.categories.infrastructure;
 
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Repository;
 
 import com.app.shared.application.exception.HandlerException;
+import com.app.shared.infrastructure.cache.CacheFactory;
+import com.app.shared.infrastructure.cache.EntityCache;
+import com.app.shared.infrastructure.export.StreamingQuery;
+import com.app.shared.infrastructure.transaction.AfterTransaction;
+import com.app.shared.infrastructure.version.ChangeCounters;
 import com.app.categories.domain.ICategoryRepository;
 import com.app.categories.domain.Category;
+import com.app.products.infrastructure.search.ProductSearchIndex;
 
 /**
  * Category Datasource
@@ -23,15 +35,52 @@ public class CategoryDatasource {
     private static final String ERROR_DELETING = "Error al eliminar category: ";
     private static final String ERROR_FINDING = "Error al obtener categories: ";
     private static final String ERROR_FINDING_BY_ID = "Error al obtener category por ID: ";
+    private static final String VERSION_MISMATCH = "La category fue modificada por otra petición, versión actual: ";
+    private static final String CATEGORY_NOT_EMPTY = "La category tiene productos asociados: ";
+
+    // The version is bumped too, so the category ETag changes with its product count
+    private static final String SELECT_ALL =
+            "SELECT id, name, description, product_count, version FROM categories ORDER BY id";
+
+    private static final String ADJUST_PRODUCT_COUNT =
+            "UPDATE categories SET product_count = product_count + ?, version = version + 1 WHERE id = ?";
+
+    // Key of the single cache entry holding the full category list
+    private static final String ALL_CATEGORIES = "all";
 
     private final ICategoryRepository categoryRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityCache<Long, Category> categoryCache;
+    private final EntityCache<String, List<Category>> categoryListCache;
+    private final ChangeCounters changeCounters;
+    private final ProductSearchIndex searchIndex;
 
     /**
      * Constructor for dependency injection of the category repository.
      * @param categoryRepository The repository to use for database operations
+     * @param jdbcTemplate The template used for product count updates
+     * @param cacheFactory Factory for the read-through category caches
+     * @param changeCounters The catalog-wide change counter bumped on every write
+     * @param searchIndex The product search index, which also indexes category names
      */
-    public CategoryDatasource(ICategoryRepository categoryRepository) {
+    public CategoryDatasource(ICategoryRepository categoryRepository, JdbcTemplate jdbcTemplate,
+            CacheFactory cacheFactory, ChangeCounters changeCounters, ProductSearchIndex searchIndex) {
         this.categoryRepository = categoryRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.categoryCache = cacheFactory.create("categories", Category::copy);
+        this.categoryListCache = cacheFactory.create("categories.all",
+                categories -> categories.stream().map(Category::copy).collect(Collectors.toList()));
+        this.changeCounters = changeCounters;
+        this.searchIndex = searchIndex;
+    }
+
+    /**
+     * Returns the catalog-wide change counter, used as the collection ETag.
+     * @return The number of catalog writes committed so far
+     * @throws HandlerException if there's an error accessing the database
+     */
+    public long catalogVersion() {
+        return changeCounters.current(ChangeCounters.CATALOG);
     }
 
     /**
@@ -41,7 +90,25 @@ public class CategoryDatasource {
      */
     public List<Category> findAll() {
         try {
-            return categoryRepository.findAll();
+            return categoryListCache.get(ALL_CATEGORIES, key -> categoryRepository.findAll());
+        } catch (Exception e) {
+            throw new HandlerException(ERROR_FINDING + e.getMessage(), "DATABASE_ERROR");
+        }
+    }
+
+    /**
+     * Streams every category in id order from a forward-only result set.
+     * @param consumer Receives each category
+     * @throws HandlerException if there's an error accessing the database
+     */
+    public void streamAll(Consumer<Category> consumer) {
+        try {
+            jdbcTemplate.query(StreamingQuery.of(SELECT_ALL), (RowCallbackHandler) rs -> consumer.accept(new Category(
+                    rs.getLong("id"),
+                    rs.getString("name"),
+                    rs.getString("description"),
+                    rs.getLong("product_count"),
+                    rs.getLong("version"))));
         } catch (Exception e) {
             throw new HandlerException(ERROR_FINDING + e.getMessage(), "DATABASE_ERROR");
         }
@@ -55,8 +122,8 @@ public class CategoryDatasource {
      */
     public Category findById(Long id) {
         try {
-            return categoryRepository.findById(id)
-                    .orElseThrow(() -> new HandlerException(CATEGORY_NOT_FOUND + id, "NOT_FOUND"));
+            return categoryCache.get(id, key -> categoryRepository.findById(key)
+                    .orElseThrow(() -> new HandlerException(CATEGORY_NOT_FOUND + key, "NOT_FOUND")));
         } catch (HandlerException e) {
             throw e;
         } catch (Exception e) {
@@ -64,6 +131,48 @@ public class CategoryDatasource {
         }
     }
 
+    /**
+     * Returns a lazy reference to a category, without reading it.
+     * @param id The category ID, may be null
+     * @return The managed reference, or null when the ID is null
+     */
+    public Category reference(Long id) {
+        return id == null ? null : categoryRepository.getReferenceById(id);
+    }
+
+    /**
+     * Applies product count deltas to their categories.
+     * Rows are updated in ID order so concurrent product writes lock categories in
+     * the same order. Product writes call this before touching the products table,
+     * so the category row lock is taken before the foreign key check.
+     * @param deltas Count change per category ID; null IDs and zero deltas are ignored
+     * @throws HandlerException if a category does not exist or there's a database error
+     */
+    public void adjustProductCounts(Map<Long, Long> deltas) {
+        Map<Long, Long> ordered = new TreeMap<>();
+        deltas.forEach((id, delta) -> {
+            if (id != null && delta != 0) {
+                ordered.put(id, delta);
+            }
+        });
+        if (ordered.isEmpty()) {
+            return;
+        }
+        try {
+            ordered.forEach((id, delta) -> {
+                if (jdbcTemplate.update(ADJUST_PRODUCT_COUNT, delta, id) == 0) {
+                    throw new HandlerException(CATEGORY_NOT_FOUND + id, "VALIDATION_ERROR");
+                }
+                categoryCache.invalidate(id);
+            });
+            categoryListCache.invalidateAll();
+        } catch (HandlerException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new HandlerException(ERROR_UPDATING + e.getMessage(), "DATABASE_ERROR");
+        }
+    }
+
     /**
      * Creates a new category in the database.
      * @param category The category to create
@@ -75,7 +184,14 @@ public class CategoryDatasource {
             if (categoryRepository.existsByName(category.getName())) {
                 throw new HandlerException("Ya existe un category con el nombre: " + category.getName(), "VALIDATION_ERROR");
             }
-            return categoryRepository.save(category);
+            category.setProductCount(0L);
+            Category saved = categoryRepository.save(category);
+            changeCounters.increment(ChangeCounters.CATALOG);
+            categoryListCache.invalidateAll();
+            Long id = saved.getId();
+            String name = saved.getName();
+            AfterTransaction.onCommit(() -> searchIndex.putCategory(id, name));
+            return saved;
         } catch (HandlerException e) {
             throw e;
         } catch (Exception e) {
@@ -85,15 +201,23 @@ public class CategoryDatasource {
 
     /**
      * Updates an existing category in the database.
-     * @param category The category data to update
+     * The row is read once; when the category carries a version (from If-Match)
+     * it must match the stored one.
+     * @param category The category data to update, with the expected version or null
      * @param id The ID of the category to update
      * @return The updated category
-     * @throws HandlerException if the category is not found, name conflicts, or there's a database error
+     * @throws HandlerException if the category is not found, the version does not match,
+     *         the name conflicts, or there's a database error
      */
     public Category update(Category category, Long id) {
         try {
-            Category existingCategory = findById(id);
-            
+            Category existingCategory = categoryRepository.findById(id)
+                    .orElseThrow(() -> new HandlerException(CATEGORY_NOT_FOUND + id, "NOT_FOUND"));
+
+            if (category.getVersion() != null && !category.getVersion().equals(existingCategory.getVersion())) {
+                throw new HandlerException(VERSION_MISMATCH + existingCategory.getVersion(), "PRECONDITION_FAILED");
+            }
+
             if (!existingCategory.getName().equals(category.getName()) && 
                 categoryRepository.existsByName(category.getName())) {
                 throw new HandlerException("Ya existe un category con el nombre: " + category.getName(), "VALIDATION_ERROR");
@@ -101,9 +225,14 @@ public class CategoryDatasource {
 
             existingCategory.setName(category.getName());
             existingCategory.setDescription(category.getDescription());
-            
-            
-            return categoryRepository.save(existingCategory);
+
+            Category updated = categoryRepository.save(existingCategory);
+            changeCounters.increment(ChangeCounters.CATALOG);
+            categoryCache.invalidate(id);
+            categoryListCache.invalidateAll();
+            String name = updated.getName();
+            AfterTransaction.onCommit(() -> searchIndex.putCategory(id, name));
+            return updated;
         } catch (HandlerException e) {
             throw e;
         } catch (Exception e) {
@@ -118,10 +247,16 @@ public class CategoryDatasource {
      */
     public void deleteById(Long id) {
         try {
-            if (!categoryRepository.existsById(id)) {
-                throw new HandlerException(CATEGORY_NOT_FOUND + id, "NOT_FOUND");
+            Category category = categoryRepository.findById(id)
+                    .orElseThrow(() -> new HandlerException(CATEGORY_NOT_FOUND + id, "NOT_FOUND"));
+            if (category.getProductCount() > 0) {
+                throw new HandlerException(CATEGORY_NOT_EMPTY + category.getProductCount(), "CONFLICT");
             }
-            categoryRepository.deleteById(id);
+            categoryRepository.delete(category);
+            changeCounters.increment(ChangeCounters.CATALOG);
+            categoryCache.invalidate(id);
+            categoryListCache.invalidateAll();
+            AfterTransaction.onCommit(() -> searchIndex.removeCategory(id));
         } catch (HandlerException e) {
             throw e;
         } catch (Exception e) {
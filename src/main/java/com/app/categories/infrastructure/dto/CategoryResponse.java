@@ -28,4 +28,9 @@ public class CategoryResponse {
      */
     private String description;
 
+    /**
+     * Number of products in the category.
+     */
+    private Long productCount;
+
 } 
\ No newline at end of file
@@ -1,7 +1,10 @@
 package com.app.categories.infrastructure.mapper;
 
+import java.util.List;
+
 import org.springframework.stereotype.Component;
 
+import com.app.shared.infrastructure.export.ExportColumn;
 import com.app.categories.domain.Category;
 import com.app.categories.infrastructure.dto.CategoryRequest;
 import com.app.categories.infrastructure.dto.CategoryResponse;
@@ -12,6 +15,16 @@ import com.app.categories.infrastructure.dto.CategoryResponse;
  */
 @Component
 public class CategoryMapper {
+
+    /**
+     * Columnas de la exportación de categorías, en orden de salida.
+     */
+    public static final List<ExportColumn<Category>> EXPORT_COLUMNS = List.of(
+        new ExportColumn<>("id", Category::getId),
+        new ExportColumn<>("name", Category::getName),
+        new ExportColumn<>("description", Category::getDescription),
+        new ExportColumn<>("productCount", Category::getProductCount)
+    );
     
     /**
      * Transforma un CategoryRequest en una entidad Category.
@@ -34,7 +47,8 @@ public class CategoryMapper {
         return new CategoryResponse(
             category.getId(),
             category.getName(),
-            category.getDescription()
+            category.getDescription(),
+            category.getProductCount()
         );
     }
 
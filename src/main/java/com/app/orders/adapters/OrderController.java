@@ -1,18 +1,46 @@
 package com.app.orders.adapters;
 
+import java.net.URI;
+import java.security.Principal;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.app.shared.adapters.BaseController;
+import com.app.shared.application.exception.HandlerException;
+import com.app.shared.infrastructure.export.ExportFormat;
+import com.app.shared.infrastructure.export.ExportWriter;
+import com.app.shared.infrastructure.idempotency.IdempotencyStore;
+import com.app.shared.infrastructure.pagination.JsonPageWriter;
+import com.app.orders.domain.IOrderIngestionService;
 import com.app.orders.domain.IOrderService;
 import com.app.orders.domain.Order;
+import com.app.orders.domain.OrderIngestion;
+import com.app.orders.domain.OrderQuery;
+import com.app.orders.domain.OrderStatsGroupBy;
+import com.app.orders.domain.OrderStatus;
+import com.app.orders.infrastructure.OrderCursor;
+import com.app.orders.infrastructure.events.OrderEventStream;
+import com.app.orders.infrastructure.dto.OrderIngestionResponse;
 import com.app.orders.infrastructure.dto.OrderRequest;
 import com.app.orders.infrastructure.dto.OrderResponse;
+import com.app.orders.infrastructure.dto.OrderStatsResponse;
+import com.app.orders.infrastructure.dto.OrderStatusRequest;
+import com.app.orders.infrastructure.dto.OrderStatusResponse;
 import com.app.orders.infrastructure.mapper.OrderMapper;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
@@ -26,64 +54,271 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class OrderController extends BaseController {
 
+    // How long a synchronous ingestion waits for its group commit before answering 202
+    private static final Duration INGEST_WAIT_TIMEOUT = Duration.ofSeconds(2);
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final String LAST_EVENT_ID = "Last-Event-ID";
+
     private final IOrderService orderService;
+    private final IOrderIngestionService orderIngestionService;
     private final OrderMapper orderMapper;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyStore idempotencyStore;
+    private final OrderEventStream orderEventStream;
 
     /**
-     * Retrieves all orders.
+     * Retrieves one filtered keyset page of orders ordered by (orderDate, id).
+     * The page is streamed from the database straight into the JSON writer.
      * 
-     * @return ResponseEntity containing a list of OrderResponse objects
+     * @param status      Only orders with this status
+     * @param from        Earliest order date to include (yyyy-MM-dd)
+     * @param to          Latest order date to include (yyyy-MM-dd)
+     * @param orderNumber Only orders whose number starts with this prefix
+     * @param limit       Page size, bounded to JsonPageWriter.MAX_LIMIT
+     * @param after       Opaque cursor taken from the previous page's nextCursor
+     * @param lines       Whether to embed the order lines, loaded for the whole page at once
+     * @return ResponseEntity streaming {"items":[...],"nextCursor":...,"limit":n}
      */
     @GetMapping
-    public ResponseEntity<List<OrderResponse>> findAll() {
-        return handleRequest(() -> orderService.findAll().stream()
-                .map(orderMapper::toResponse)
-                .collect(Collectors.toList()));
+    public ResponseEntity<StreamingResponseBody> findAll(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String orderNumber,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "false") boolean lines) {
+        return handleStreamRequest(MediaType.APPLICATION_JSON, () -> {
+            if (from != null && to != null && from.isAfter(to)) {
+                throw new HandlerException("La fecha inicial no puede ser posterior a la final", "VALIDATION_ERROR");
+            }
+            int pageSize = JsonPageWriter.resolveLimit(limit);
+            OrderQuery query = OrderCursor.decode(new OrderQuery(blankToNull(status), from, to,
+                    blankToNull(orderNumber), null, null), after);
+            return JsonPageWriter.stream(objectMapper, pageSize,
+                    consumer -> orderService.streamPage(query, pageSize + 1, lines, consumer),
+                    order -> orderMapper.toResponse(order, lines),
+                    OrderCursor::encode);
+        });
+    }
+
+    /**
+     * Retrieves order counts and revenue per day, week or status.
+     * Served from the incrementally maintained rollup, so the cost depends on
+     * the number of buckets, not on the number of orders.
+     * 
+     * @param from    Earliest order date to include (yyyy-MM-dd)
+     * @param to      Latest order date to include (yyyy-MM-dd)
+     * @param groupBy Bucket: day (default), week or status
+     * @return ResponseEntity containing one OrderStatsResponse per bucket
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<List<OrderStatsResponse>> stats(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String groupBy) {
+        return handleRequest(() -> {
+            if (from != null && to != null && from.isAfter(to)) {
+                throw new HandlerException("La fecha inicial no puede ser posterior a la final", "VALIDATION_ERROR");
+            }
+            return orderService.stats(from, to, OrderStatsGroupBy.fromParam(groupBy)).stream()
+                    .map(orderMapper::toResponse)
+                    .collect(Collectors.toList());
+        });
+    }
+
+    /**
+     * Exports every order as NDJSON or CSV.
+     * Rows are streamed from the database straight to the response in constant
+     * memory, so multi-million-row exports do not load the table.
+     * 
+     * @param format Output format: ndjson (default) or csv
+     * @param gzip   Whether to gzip the file
+     * @return ResponseEntity streaming the export as a file download
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(required = false) String format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        ExportFormat exportFormat = ExportFormat.fromParam(format);
+        return handleExportRequest("orders", exportFormat, gzip,
+                () -> ExportWriter.stream(objectMapper, exportFormat, gzip,
+                        OrderMapper.EXPORT_COLUMNS, orderService::streamAll));
+    }
+
+    /**
+     * Streams changes to the authenticated user's orders as Server-Sent Events,
+     * replacing polling of GET /{id}. Each event is named after the change
+     * (ORDER_CREATED, ORDER_UPDATED, ORDER_DELETED), carries the order as JSON
+     * and has the outbox position as its id. A reconnecting client sends
+     * Last-Event-ID to receive what it missed; a 'reset' event means the gap
+     * could not be replayed and the client should reload its orders.
+     * Events are only complete when a single instance serves the API.
+     * 
+     * @param principal   The authenticated user
+     * @param lastEventId Optional id of the last event the client received
+     * @return The event stream
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(Principal principal,
+            @RequestHeader(value = LAST_EVENT_ID, required = false) Long lastEventId) {
+        return orderEventStream.subscribe(principal.getName(), lastEventId);
     }
 
     /**
      * Retrieves a specific order by ID.
+     * The ETag is the order version; a matching If-None-Match is answered with
+     * 304 Not Modified.
      * 
-     * @param id The ID of the order to retrieve
+     * @param id      The ID of the order to retrieve
+     * @param lines   Whether to embed the order lines
+     * @param request The current request, used to evaluate If-None-Match
      * @return ResponseEntity containing the OrderResponse object
      */
     @GetMapping("/{id}")
-    public ResponseEntity<OrderResponse> findById(@PathVariable Long id) {
-        return handleRequest(() -> orderMapper.toResponse(orderService.findById(id)));
+    public ResponseEntity<OrderResponse> findById(@PathVariable Long id,
+            @RequestParam(defaultValue = "false") boolean lines, WebRequest request) {
+        return handleConditionalRequest(request,
+                () -> orderService.findById(id, lines),
+                order -> etag("v", order.getVersion()),
+                order -> orderMapper.toResponse(order, lines));
     }
 
     /**
      * Creates a new order.
+     * With an Idempotency-Key header, a retry of the same request returns the
+     * stored response instead of creating a second order.
      * 
-     * @param request The OrderRequest containing the order data
+     * @param request        The OrderRequest containing the order data
+     * @param idempotencyKey Optional client generated key identifying the request
+     * @param principal      The authenticated user, who becomes the order's customer
      * @return ResponseEntity containing the created OrderResponse
      */
     @PostMapping
-    public ResponseEntity<OrderResponse> save(@Valid @RequestBody OrderRequest request) {
-        return handleRequest(() -> {
-            Order order = orderMapper.toEntity(request);
-            return orderMapper.toResponse(orderService.save(order));
-        });
+    public ResponseEntity<OrderResponse> save(@Valid @RequestBody OrderRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            Principal principal) {
+        return handleIdempotentRequest(idempotencyStore, "orders", principal, idempotencyKey, request,
+                OrderResponse.class,
+                () -> orderService.save(toNewOrder(request, principal)),
+                order -> etag("v", order.getVersion()),
+                order -> orderMapper.toResponse(order, request.getLines() != null));
+    }
+
+    /**
+     * Queues a new order for group-committed creation.
+     * Without wait the order is answered with 202 Accepted and a tracking ID as
+     * soon as it is queued. With wait the call blocks until the batch holding the
+     * order commits (201 Created), or answers 202 if that takes too long.
+     * A full queue is answered with 503 Service Unavailable and Retry-After.
+     * 
+     * @param request   The OrderRequest containing the order data
+     * @param wait      Whether to wait for the order to be committed
+     * @param principal The authenticated user, who becomes the order's customer
+     * @return ResponseEntity containing the OrderIngestionResponse
+     */
+    @PostMapping("/ingest")
+    public ResponseEntity<OrderIngestionResponse> ingest(
+            @Valid @RequestBody OrderRequest request,
+            @RequestParam(defaultValue = "false") boolean wait,
+            Principal principal) {
+        return handleAcceptedRequest(() -> {
+                Order order = toNewOrder(request, principal);
+                OrderIngestion ingestion = wait
+                        ? orderIngestionService.submitAndWait(order, INGEST_WAIT_TIMEOUT)
+                        : orderIngestionService.submit(order);
+                if (OrderIngestion.FAILED.equals(ingestion.status())) {
+                    throw new HandlerException(ingestion.message(), "DATABASE_ERROR");
+                }
+                return ingestion;
+            },
+            ingestion -> OrderIngestion.CREATED.equals(ingestion.status())
+                    ? null
+                    : URI.create("/api/orders/ingest/" + ingestion.trackingId()),
+            orderMapper::toResponse);
+    }
+
+    /**
+     * Retrieves the status of an order submitted through the ingestion queue.
+     * 
+     * @param trackingId The tracking ID returned on submission
+     * @return ResponseEntity containing the OrderIngestionResponse
+     */
+    @GetMapping("/ingest/{trackingId}")
+    public ResponseEntity<OrderIngestionResponse> ingestionStatus(@PathVariable String trackingId) {
+        return handleRequest(() -> orderMapper.toResponse(orderIngestionService.status(trackingId)));
     }
 
     /**
      * Updates an existing order.
+     * The order is read once by the service. When If-Match is sent, the update
+     * only applies if it matches the stored version, otherwise it is answered
+     * with 412 Precondition Failed; a concurrent update without If-Match is
+     * answered with 409 Conflict. Lines are only replaced when the body sends
+     * them, and only while the order is PENDING (409 Conflict otherwise).
      * 
      * @param request The OrderRequest containing the updated order data
      * @param id      The ID of the order to update
+     * @param ifMatch Optional ETag of the version the client last read
      * @return ResponseEntity containing the updated OrderResponse
      */
     @PutMapping("/{id}")
     public ResponseEntity<OrderResponse> update(
             @Valid @RequestBody OrderRequest request,
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return handleVersionedRequest(() -> {
+                    Order order = orderMapper.toEntity(request);
+                    order.setVersion(versionFromIfMatch(ifMatch));
+                    return orderService.update(order, id);
+                },
+                order -> etag("v", order.getVersion()),
+                order -> orderMapper.toResponse(order, request.getLines() != null));
+    }
+
+    /**
+     * Moves many orders to a new status at once, e.g. marking a warehouse
+     * batch as shipped. Allowed transitions are PENDING to SHIPPED or
+     * CANCELLED and SHIPPED to DELIVERED; shipping and delivery dates are set
+     * by the server. Orders that cannot make the transition are reported
+     * individually instead of failing the request.
+     * 
+     * @param request The OrderStatusRequest with the order IDs and target status
+     * @return ResponseEntity containing counters and the outcome for every order
+     */
+    @PostMapping("/status")
+    public ResponseEntity<OrderStatusResponse> transition(@Valid @RequestBody OrderStatusRequest request) {
         return handleRequest(() -> {
-            Order existingOrder = orderService.findById(id);
-            orderMapper.updateEntityFromRequest(existingOrder, request);
-            return orderMapper.toResponse(orderService.update(existingOrder, id));
+            OrderStatus target = OrderStatus.fromParam(request.getStatus());
+            if (target == OrderStatus.PENDING) {
+                throw new HandlerException("Las orders no pueden volver a PENDING", "VALIDATION_ERROR");
+            }
+            OrderStatusResponse response = new OrderStatusResponse();
+            orderService.transition(request.getIds(), target).stream()
+                    .map(orderMapper::toResponse)
+                    .forEach(response::add);
+            return response;
         });
     }
 
+    /**
+     * Cancels an order and returns the stock reserved by its lines.
+     * When If-Match is sent, the order is only cancelled if it matches the stored
+     * version, otherwise it is answered with 412 Precondition Failed; an order
+     * that is no longer pending is answered with 409 Conflict.
+     * 
+     * @param id      The ID of the order to cancel
+     * @param ifMatch Optional ETag of the version the client last read
+     * @return ResponseEntity containing the cancelled OrderResponse
+     */
+    @PostMapping("/{id}/cancel")
+    public ResponseEntity<OrderResponse> cancel(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return handleVersionedRequest(() -> orderService.cancel(id, versionFromIfMatch(ifMatch)),
+                order -> etag("v", order.getVersion()),
+                orderMapper::toResponse);
+    }
+
     /**
      * Deletes an order.
      * 
@@ -94,4 +329,14 @@ public class OrderController extends BaseController {
     public ResponseEntity<Void> deleteById(@PathVariable Long id) {
         return handleVoidRequest(() -> orderService.deleteById(id));
     }
+
+    private Order toNewOrder(OrderRequest request, Principal principal) {
+        Order order = orderMapper.toEntity(request);
+        order.setCustomerEmail(principal.getName());
+        return order;
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
 }
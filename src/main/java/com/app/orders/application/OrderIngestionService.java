@@ -0,0 +1,186 @@
+package com.app.orders.application;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.app.orders.domain.IOrderIngestionService;
+import com.app.orders.domain.IOrderService;
+import com.app.orders.domain.Order;
+import com.app.orders.domain.OrderIngestion;
+import com.app.shared.application.exception.HandlerException;
+import com.app.shared.infrastructure.cache.CacheFactory;
+import com.github.benmanes.caffeine.cache.Cache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Order Ingestion Service
+ * Bounded in-process queue in front of order creation. A single writer thread
+ * takes whatever is queued, up to the batch size, and creates it with one
+ * batched insert and one commit, so the commit cost is shared by every order
+ * in the batch. When the queue is full, submissions are rejected at once with
+ * SERVICE_UNAVAILABLE instead of holding request threads.
+ */
+@Slf4j
+@Service
+public class OrderIngestionService implements IOrderIngestionService {
+
+    private static final String QUEUE_FULL = "La cola de pedidos está llena, reintente en unos segundos";
+    private static final String TRACKING_NOT_FOUND = "Seguimiento no encontrado o expirado: ";
+    private static final String SHUTTING_DOWN = "El servicio de pedidos se está deteniendo";
+
+    // How long the idle writer blocks before re-checking whether it should stop
+    private static final long POLL_INTERVAL_MS = 200;
+    private static final long SHUTDOWN_TIMEOUT_MS = 30_000;
+    private static final long MAX_TRACKED = 100_000;
+
+    private final IOrderService orderService;
+    private final BlockingQueue<PendingOrder> queue;
+    private final int batchSize;
+    private final Cache<String, OrderIngestion> tracking;
+    private final ExecutorService writer;
+    private volatile boolean running = true;
+
+    public OrderIngestionService(IOrderService orderService, CacheFactory cacheFactory,
+            @Value("${app.orders.ingest.queue-capacity:10000}") int queueCapacity,
+            @Value("${app.orders.ingest.batch-size:500}") int batchSize,
+            @Value("${app.orders.ingest.tracking-ttl:1h}") Duration trackingTtl) {
+        this.orderService = orderService;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.tracking = cacheFactory.build("orders.ingestion", MAX_TRACKED, trackingTtl);
+        this.writer = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "order-ingestion-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    void start() {
+        writer.execute(this::drain);
+    }
+
+    /**
+     * Stops accepting orders and lets the writer commit what is still queued.
+     */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        writer.shutdown();
+        if (!writer.awaitTermination(SHUTDOWN_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+            writer.shutdownNow();
+        }
+    }
+
+    @Override
+    public OrderIngestion submit(Order order) {
+        return enqueue(order).ingestion();
+    }
+
+    @Override
+    public OrderIngestion submitAndWait(Order order, Duration timeout) {
+        PendingOrder pending = enqueue(order);
+        try {
+            return pending.result().get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            return pending.ingestion();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return pending.ingestion();
+        } catch (ExecutionException e) {
+            return OrderIngestion.failed(pending.ingestion().trackingId(), e.getCause().getMessage());
+        }
+    }
+
+    @Override
+    public OrderIngestion status(String trackingId) {
+        OrderIngestion ingestion = tracking.getIfPresent(trackingId);
+        if (ingestion == null) {
+            throw new HandlerException(TRACKING_NOT_FOUND + trackingId, "NOT_FOUND");
+        }
+        return ingestion;
+    }
+
+    private PendingOrder enqueue(Order order) {
+        if (!running) {
+            throw new HandlerException(SHUTTING_DOWN, "SERVICE_UNAVAILABLE");
+        }
+        OrderIngestion ingestion = OrderIngestion.queued(UUID.randomUUID().toString());
+        PendingOrder pending = new PendingOrder(ingestion, order, new CompletableFuture<>());
+        tracking.put(ingestion.trackingId(), ingestion);
+        if (!queue.offer(pending)) {
+            tracking.invalidate(ingestion.trackingId());
+            throw new HandlerException(QUEUE_FULL, "SERVICE_UNAVAILABLE");
+        }
+        return pending;
+    }
+
+    private void drain() {
+        List<PendingOrder> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingOrder first = queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Order ingestion batch failed", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // One transaction for the whole batch; if it fails, each order is retried on its own
+    // so a single bad order does not reject the others. Every attempt gets a fresh copy
+    // of the submitted order, as a failed one may already have set IDs and versions
+    private void commit(List<PendingOrder> batch) {
+        try {
+            List<Order> saved = orderService.saveAll(batch.stream().map(pending -> pending.order().copy()).toList());
+            for (int i = 0; i < batch.size(); i++) {
+                complete(batch.get(i), saved.get(i));
+            }
+        } catch (RuntimeException batchError) {
+            for (PendingOrder pending : batch) {
+                try {
+                    complete(pending, orderService.save(pending.order().copy()));
+                } catch (RuntimeException e) {
+                    OrderIngestion failed = OrderIngestion.failed(pending.ingestion().trackingId(), e.getMessage());
+                    tracking.put(failed.trackingId(), failed);
+                    pending.result().complete(failed);
+                }
+            }
+        }
+    }
+
+    private void complete(PendingOrder pending, Order saved) {
+        OrderIngestion created = OrderIngestion.created(pending.ingestion().trackingId(), saved);
+        tracking.put(created.trackingId(), created);
+        pending.result().complete(created);
+    }
+
+    private record PendingOrder(OrderIngestion ingestion, Order order, CompletableFuture<OrderIngestion> result) {
+    }
+}
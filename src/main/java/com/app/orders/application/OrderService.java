@@ -1,13 +1,23 @@
 package com.app.orders.application;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.app.orders.domain.IOrderService;
 import com.app.orders.domain.Order;
+import com.app.orders.domain.OrderQuery;
+import com.app.orders.domain.OrderStatsBucket;
+import com.app.orders.domain.OrderStatsGroupBy;
+import com.app.orders.domain.OrderStatus;
+import com.app.orders.domain.OrderTransition;
 import com.app.orders.infrastructure.OrderDatasource;
+import com.app.orders.infrastructure.OrderStatsDatasource;
 
 import lombok.RequiredArgsConstructor;
 
@@ -22,6 +32,15 @@ public class OrderService implements IOrderService {
 
     
     private final OrderDatasource orderDatasource;
+    private final OrderStatsDatasource orderStatsDatasource;
+
+    /**
+     * Seeds the order rollup from existing orders, once per database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillStats() {
+        orderStatsDatasource.backfill();
+    }
 
     @Override
     public List<Order> findAll() {
@@ -29,8 +48,23 @@ public class OrderService implements IOrderService {
     }
 
     @Override
-    public Order findById(Long id) {
-        return orderDatasource.findById(id);
+    public void streamPage(OrderQuery query, int limit, boolean withLines, Consumer<Order> consumer) {
+        orderDatasource.streamPage(query, limit, withLines, consumer);
+    }
+
+    @Override
+    public void streamAll(Consumer<Order> consumer) {
+        orderDatasource.streamAll(consumer);
+    }
+
+    @Override
+    public List<OrderStatsBucket> stats(LocalDate from, LocalDate to, OrderStatsGroupBy groupBy) {
+        return orderStatsDatasource.stats(from, to, groupBy);
+    }
+
+    @Override
+    public Order findById(Long id, boolean withLines) {
+        return orderDatasource.findById(id, withLines);
     }
 
     @Override
@@ -39,12 +73,30 @@ public class OrderService implements IOrderService {
         return orderDatasource.save(order);
     }
 
+    @Override
+    @Transactional
+    public List<Order> saveAll(List<Order> orders) {
+        return orderDatasource.saveAll(orders);
+    }
+
     @Override
     @Transactional
     public Order update(Order order, Long id) {
         return orderDatasource.update(order, id);
     }
 
+    @Override
+    @Transactional
+    public Order cancel(Long id, Long version) {
+        return orderDatasource.cancel(id, version);
+    }
+
+    @Override
+    @Transactional
+    public List<OrderTransition> transition(List<Long> ids, OrderStatus target) {
+        return orderDatasource.transition(ids, target);
+    }
+
     @Override
     @Transactional
     public void deleteById(Long id) {
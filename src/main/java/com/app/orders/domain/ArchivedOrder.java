@@ -0,0 +1,59 @@
+package com.app.orders.domain;
+
+import java.time.LocalDate;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * Archived Order Entity
+ * A delivered order moved out of the hot 'orders' table by the archival job.
+ * Keeps the original ID and every column of the order; archived orders are read-only.
+ * This class is mapped to the 'orders_archive' table in the database.
+ */
+@Entity
+@Table(name = "orders_archive", indexes = {
+    @Index(name = "idx_orders_archive_date", columnList = "order_date")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedOrder {
+    /**
+     * Identifier the order had in the 'orders' table.
+     */
+    @Id
+    private Long id;
+
+    @Column(name = "order_number", nullable = false, unique = true)
+    private String orderNumber;
+
+    @Column(nullable = false)
+    private String description;
+
+    @Column(name = "order_value", nullable = false)
+    private Double orderValue;
+
+    @Column(name = "order_date", nullable = false)
+    private LocalDate orderDate;
+
+    @Column(name = "shipping_date")
+    private LocalDate shippingDate;
+
+    @Column(name = "delivery_date")
+    private LocalDate deliveryDate;
+
+    @Lob
+    @Column(name = "order_detail")
+    private String orderDetail;
+
+    @Column(nullable = false)
+    private String status;
+
+    @Column(name = "customer_email")
+    private String customerEmail;
+
+    @Column(nullable = false)
+    private Long version;
+}
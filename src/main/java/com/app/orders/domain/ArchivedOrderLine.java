@@ -0,0 +1,38 @@
+package com.app.orders.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Archived Order Line Entity
+ * A line of an archived order, moved out of 'order_lines' together with its order.
+ * This class is mapped to the 'order_lines_archive' table in the database.
+ */
+@Entity
+@Table(name = "order_lines_archive", indexes = {
+    @Index(name = "idx_order_lines_archive_order", columnList = "order_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedOrderLine {
+    /**
+     * Identifier the line had in the 'order_lines' table.
+     */
+    @Id
+    private Long id;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Column(name = "unit_price", nullable = false)
+    private Double unitPrice;
+}
@@ -0,0 +1,38 @@
+package com.app.orders.domain;
+
+import java.time.Duration;
+
+/**
+ * Order Ingestion Service Interface
+ * Accepts orders into a bounded in-process queue that a single writer drains
+ * in batches, committing many orders per transaction.
+ */
+public interface IOrderIngestionService {
+    /**
+     * Queues an order for creation.
+     * 
+     * @param order The validated order to create
+     * @return The tracking state, QUEUED
+     * @throws HandlerException with SERVICE_UNAVAILABLE if the queue is full
+     */
+    OrderIngestion submit(Order order);
+
+    /**
+     * Queues an order and waits for the group commit that creates it.
+     * 
+     * @param order   The validated order to create
+     * @param timeout Maximum time to wait for the commit
+     * @return The tracking state: CREATED or FAILED, or QUEUED if the wait timed out
+     * @throws HandlerException with SERVICE_UNAVAILABLE if the queue is full
+     */
+    OrderIngestion submitAndWait(Order order, Duration timeout);
+
+    /**
+     * Returns the tracking state of a submitted order.
+     * 
+     * @param trackingId The identifier returned on submission
+     * @return The tracking state
+     * @throws HandlerException if the tracking ID is unknown or expired
+     */
+    OrderIngestion status(String trackingId);
+}
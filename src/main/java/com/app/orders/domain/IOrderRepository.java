@@ -1,19 +1,23 @@
 package com.app.orders.domain;
 
+import java.util.Optional;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
  * Order Repository Interface
  * Extends JpaRepository to provide basic CRUD operations for Order entities.
- * Includes a custom method to check for duplicate order numbers.
  */
 @Repository
 public interface IOrderRepository extends JpaRepository<Order, Long> {
     /**
-     * Checks if an order with the given order number already exists.
-     * @param orderNumber the order number to check
-     * @return true if an order with the given order number exists, false otherwise
+     * Loads an order together with its lines and their products in one query.
+     * @param id The order ID
+     * @return The order, if it exists
      */
-    boolean existsByOrderNumber(String orderNumber);
+    @Query("select distinct o from Order o left join fetch o.lines l left join fetch l.product where o.id = :id")
+    Optional<Order> findWithLinesById(@Param("id") Long id);
 }
@@ -1,6 +1,8 @@
 package com.app.orders.domain;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Order Service Interface
@@ -15,36 +17,94 @@ public interface IOrderService {
      */
     List<Order> findAll();
 
+    /**
+     * Streams one filtered keyset page of orders ordered by (orderDate, id).
+     * 
+     * @param query     Filters and position of the page
+     * @param limit     Maximum number of orders to stream
+     * @param withLines Whether to load the lines of the orders, for the whole page at once
+     * @param consumer  Receives each order, without its detail
+     */
+    void streamPage(OrderQuery query, int limit, boolean withLines, Consumer<Order> consumer);
+
+    /**
+     * Streams every order in id order, for exports.
+     * 
+     * @param consumer Receives each order
+     */
+    void streamAll(Consumer<Order> consumer);
+
+    /**
+     * Reads order counts and revenue per day, week or status from the rollup.
+     * 
+     * @param from    Earliest order date to include, or null
+     * @param to      Latest order date to include, or null
+     * @param groupBy The bucket to group by
+     * @return One entry per non-empty bucket, in bucket order
+     */
+    List<OrderStatsBucket> stats(LocalDate from, LocalDate to, OrderStatsGroupBy groupBy);
+
     /**
      * Retrieves a specific order by its ID.
      * 
-     * @param id The order ID to search for
+     * @param id        The order ID to search for
+     * @param withLines Whether to fetch the order lines with the order
      * @return The found order
      * @throws HandlerException if the order is not found
      */
-    Order findById(Long id);
+    Order findById(Long id, boolean withLines);
 
     /**
      * Creates a new order in the system.
+     * The order number is generated by the server, and the order value is
+     * derived from the lines when the order has any.
      * 
      * @param order The order to create
-     * @return The created order with its ID
-     * @throws HandlerException if an order with the same order number already
-     *                          exists
+     * @return The created order with its ID and order number
+     * @throws HandlerException if a product does not exist or the order cannot be stored
      */
     Order save(Order order);
 
+    /**
+     * Creates a group of new orders in a single transaction.
+     * 
+     * @param orders The orders to create
+     * @return The created orders, in order, with their IDs and order numbers
+     * @throws HandlerException if any order cannot be stored; none is created then
+     */
+    List<Order> saveAll(List<Order> orders);
+
     /**
      * Updates an existing order.
      * 
      * @param order The order data to update
      * @param id    The ID of the order to update
      * @return The updated order
-     * @throws HandlerException if the order is not found or if the updated order
-     *                          number conflicts with an existing order
+     * @throws HandlerException if the order is not found, was modified
+     *                          concurrently or cannot move to the requested status
      */
     Order update(Order order, Long id);
 
+    /**
+     * Cancels an order, returning the stock reserved by its lines.
+     * 
+     * @param id      The ID of the order to cancel
+     * @param version The expected version, or null
+     * @return The cancelled order
+     * @throws HandlerException if the order is not found, was delivered or was
+     *                          modified concurrently
+     */
+    Order cancel(Long id, Long version);
+
+    /**
+     * Moves many orders to a new status at once.
+     * 
+     * @param ids    The IDs of the orders to change
+     * @param target The status to move them to
+     * @return The outcome for every distinct ID, in request order
+     */
+    List<OrderTransition> transition(List<Long> ids, OrderStatus target);
+
     /**
      * Deletes an order from the system.
      * 
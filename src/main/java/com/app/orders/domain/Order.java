@@ -1,10 +1,17 @@
 package com.app.orders.domain;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.annotations.BatchSize;
+
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import lombok.ToString;
 
 /**
  * Order Entity
@@ -12,7 +19,11 @@ import lombok.AllArgsConstructor;
  * This class is mapped to the 'orders' table in the database.
  */
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+    @Index(name = "idx_orders_date_id", columnList = "order_date, id"),
+    @Index(name = "idx_orders_status_date_id", columnList = "status, order_date, id"),
+    @Index(name = "idx_orders_customer_id", columnList = "customer_email, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -80,4 +91,46 @@ public class Order {
      */
     @Column(nullable = false)
     private String status;
+
+    /**
+     * Email of the user who placed the order.
+     * Null for orders created before orders were tied to users.
+     */
+    @Column(name = "customer_email")
+    private String customerEmail;
+
+    /**
+     * Optimistic lock version, incremented on every update.
+     * Exposed to clients as the order's ETag.
+     */
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    /**
+     * Products of the order. Loaded lazily, for up to 50 orders per query.
+     * When present, the order value is derived from them.
+     */
+    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 50)
+    @OrderBy("id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private List<OrderLine> lines = new ArrayList<>();
+
+    /**
+     * Creates a detached copy of this order and its lines.
+     * Used to retry a write with the order as submitted, since a failed
+     * attempt may already have assigned IDs, versions and prices.
+     * @return A new Order with the same field values and copied lines
+     */
+    public Order copy() {
+        Order copy = new Order(id, orderNumber, description, orderValue, orderDate, shippingDate, deliveryDate,
+                orderDetail, status, customerEmail, version, new ArrayList<>());
+        for (OrderLine line : lines) {
+            copy.lines.add(new OrderLine(line.getId(), copy, line.getProduct(), line.getQuantity(),
+                    line.getUnitPrice()));
+        }
+        return copy;
+    }
 }
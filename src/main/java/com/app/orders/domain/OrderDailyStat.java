@@ -0,0 +1,71 @@
+package com.app.orders.domain;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Order Daily Stat Entity
+ * One slot of the order count and revenue rollup of a day and status.
+ * Rows are adjusted incrementally by every order write; a bucket's totals are
+ * the sum of its slots, which keeps concurrent writers off a single hot row.
+ * This class is mapped to the 'order_daily_stats' table in the database.
+ */
+@Entity
+@Table(name = "order_daily_stats")
+@IdClass(OrderDailyStat.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderDailyStat {
+    /**
+     * Order date the row aggregates.
+     */
+    @Id
+    @Column(nullable = false)
+    private LocalDate day;
+
+    /**
+     * Order status the row aggregates.
+     */
+    @Id
+    @Column(nullable = false, length = 32)
+    private String status;
+
+    /**
+     * Slot number within the day and status.
+     */
+    @Id
+    @Column(nullable = false)
+    private Integer slot;
+
+    /**
+     * Number of orders recorded in this slot.
+     */
+    @Column(name = "order_count", nullable = false)
+    private Long orderCount;
+
+    /**
+     * Sum of the order values recorded in this slot.
+     */
+    @Column(nullable = false)
+    private Double revenue;
+
+    /**
+     * Composite primary key of a rollup slot.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private LocalDate day;
+        private String status;
+        private Integer slot;
+    }
+}
@@ -0,0 +1,76 @@
+package com.app.orders.domain;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Order Event Entity
+ * Outbox row describing a change to an order. It is written in the same
+ * transaction as the change and deleted once every consumer has received it,
+ * so the table only holds events that are still pending delivery.
+ * This class is mapped to the 'order_events' table in the database.
+ */
+@Entity
+@Table(name = "order_events")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderEvent {
+    public static final String CREATED = "ORDER_CREATED";
+    public static final String UPDATED = "ORDER_UPDATED";
+    public static final String DELETED = "ORDER_DELETED";
+
+    /**
+     * Position of the event in the outbox; events are delivered in this order.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * ID of the order the event is about.
+     */
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    /**
+     * Kind of change (e.g., 'ORDER_CREATED').
+     */
+    @Column(nullable = false, length = 32)
+    private String type;
+
+    /**
+     * JSON snapshot of the order after the change.
+     */
+    @Lob
+    @Column(nullable = false)
+    @JsonRawValue
+    private String payload;
+
+    /**
+     * When the change was committed.
+     */
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Relay run currently delivering the event, if any.
+     */
+    @JsonIgnore
+    @Column(name = "claimed_by", length = 36)
+    private String claimedBy;
+
+    /**
+     * Until when the claim holds; an expired claim is taken over by the next run.
+     */
+    @JsonIgnore
+    @Column(name = "claimed_until")
+    private LocalDateTime claimedUntil;
+}
@@ -0,0 +1,18 @@
+package com.app.orders.domain;
+
+import java.util.List;
+
+/**
+ * Order Event Consumer
+ * Receives batches of order events from the outbox relay.
+ * Delivery is at least once and in outbox order, so events of the same order
+ * arrive in the order they were written. An implementation that throws makes
+ * the relay retry the whole batch later.
+ */
+public interface OrderEventConsumer {
+    /**
+     * Handles a batch of events.
+     * @param events The events, in outbox order
+     */
+    void consume(List<OrderEvent> events);
+}
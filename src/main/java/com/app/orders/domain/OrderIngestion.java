@@ -0,0 +1,35 @@
+package com.app.orders.domain;
+
+/**
+ * Order Ingestion
+ * Tracking state of an order submitted through the asynchronous ingestion queue.
+ *
+ * @param trackingId  Identifier returned to the caller when the order was accepted
+ * @param status      QUEUED, CREATED or FAILED
+ * @param orderId     ID of the created order, null until it is committed
+ * @param orderNumber Number of the created order, null until it is committed
+ * @param message     Reason the order failed, null otherwise
+ */
+public record OrderIngestion(
+    String trackingId,
+    String status,
+    Long orderId,
+    String orderNumber,
+    String message
+) {
+    public static final String QUEUED = "QUEUED";
+    public static final String CREATED = "CREATED";
+    public static final String FAILED = "FAILED";
+
+    public static OrderIngestion queued(String trackingId) {
+        return new OrderIngestion(trackingId, QUEUED, null, null, null);
+    }
+
+    public static OrderIngestion created(String trackingId, Order order) {
+        return new OrderIngestion(trackingId, CREATED, order.getId(), order.getOrderNumber(), null);
+    }
+
+    public static OrderIngestion failed(String trackingId, String message) {
+        return new OrderIngestion(trackingId, FAILED, null, null, message);
+    }
+}
@@ -0,0 +1,74 @@
+package com.app.orders.domain;
+
+import com.app.products.domain.Product;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Order Line Entity
+ * One product of an order, with the quantity and the unit price the product
+ * had when the order was placed.
+ * This class is mapped to the 'order_lines' table in the database.
+ */
+@Entity
+@Table(name = "order_lines", indexes = {
+    @Index(name = "idx_order_lines_order", columnList = "order_id"),
+    @Index(name = "idx_order_lines_product", columnList = "product_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderLine {
+    /**
+     * Unique identifier for the line.
+     * Auto-generated using identity strategy.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Order the line belongs to.
+     */
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "order_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Order order;
+
+    /**
+     * Ordered product. Loaded lazily, in batches.
+     */
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "product_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Product product;
+
+    /**
+     * Number of units ordered.
+     * Cannot be null.
+     */
+    @Column(nullable = false)
+    private Integer quantity;
+
+    /**
+     * Price of one unit when the order was placed.
+     * Cannot be null.
+     */
+    @Column(name = "unit_price", nullable = false)
+    private Double unitPrice;
+
+    /**
+     * Total of the line.
+     * @return quantity times unit price
+     */
+    public double total() {
+        return quantity * unitPrice;
+    }
+}
@@ -0,0 +1,33 @@
+package com.app.orders.domain;
+
+import java.time.LocalDate;
+
+/**
+ * Order Query
+ * Filters and keyset position of an order listing page ordered by (orderDate, id).
+ * Null filter values are ignored; null after values request the first page.
+ *
+ * @param status            Only orders with this status
+ * @param fromDate          Earliest order date to include
+ * @param toDate            Latest order date to include
+ * @param orderNumberPrefix Only orders whose number starts with this prefix
+ * @param afterDate         Order date of the last row of the previous page
+ * @param afterId           ID of the last row of the previous page
+ */
+public record OrderQuery(
+    String status,
+    LocalDate fromDate,
+    LocalDate toDate,
+    String orderNumberPrefix,
+    LocalDate afterDate,
+    Long afterId
+) {
+    /**
+     * Same filters, positioned after the given order.
+     * @param last The last order of the current page
+     * @return The query for the next page
+     */
+    public OrderQuery after(Order last) {
+        return new OrderQuery(status, fromDate, toDate, orderNumberPrefix, last.getOrderDate(), last.getId());
+    }
+}
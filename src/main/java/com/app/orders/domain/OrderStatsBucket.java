@@ -0,0 +1,12 @@
+package com.app.orders.domain;
+
+/**
+ * Order Stats Bucket
+ * Order count and revenue of one day, week or status.
+ *
+ * @param bucket  The day or week start (yyyy-MM-dd), or the status
+ * @param orders  Number of orders in the bucket
+ * @param revenue Sum of the order values in the bucket
+ */
+public record OrderStatsBucket(String bucket, long orders, double revenue) {
+}
@@ -0,0 +1,41 @@
+package com.app.orders.domain;
+
+import com.app.shared.application.exception.HandlerException;
+
+/**
+ * Order Stats Group By
+ * Buckets supported by the order statistics endpoint.
+ */
+public enum OrderStatsGroupBy {
+    DAY("day"),
+    WEEK("week"),
+    STATUS("status");
+
+    private final String param;
+
+    OrderStatsGroupBy(String param) {
+        this.param = param;
+    }
+
+    public String getParam() {
+        return param;
+    }
+
+    /**
+     * Resolves the grouping from its request parameter value.
+     * @param param The value of the groupBy parameter, may be null
+     * @return The matching grouping, DAY when no value was given
+     * @throws HandlerException if the value is not a supported grouping
+     */
+    public static OrderStatsGroupBy fromParam(String param) {
+        if (param == null || param.isBlank()) {
+            return DAY;
+        }
+        for (OrderStatsGroupBy groupBy : values()) {
+            if (groupBy.param.equalsIgnoreCase(param)) {
+                return groupBy;
+            }
+        }
+        throw new HandlerException("Agrupación no soportada: " + param, "VALIDATION_ERROR");
+    }
+}
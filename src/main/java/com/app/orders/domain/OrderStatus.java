@@ -0,0 +1,67 @@
+package com.app.orders.domain;
+
+import com.app.shared.application.exception.HandlerException;
+
+/**
+ * Order Status
+ * Lifecycle of an order and the transitions allowed between its states.
+ * Stored in the orders table by name.
+ */
+public enum OrderStatus {
+    PENDING,
+    SHIPPED,
+    DELIVERED,
+    CANCELLED;
+
+    /**
+     * Tells whether an order in this status may move to the target status.
+     * @param target The requested status
+     * @return true for PENDING to SHIPPED or CANCELLED, and SHIPPED to DELIVERED
+     */
+    public boolean canBecome(OrderStatus target) {
+        return switch (this) {
+            case PENDING -> target == SHIPPED || target == CANCELLED;
+            case SHIPPED -> target == DELIVERED;
+            default -> false;
+        };
+    }
+
+    /**
+     * Tells whether an order in this status still holds the stock reserved for its lines.
+     * @return true only for PENDING orders
+     */
+    public boolean holdsStock() {
+        return this == PENDING;
+    }
+
+    /**
+     * Resolves a stored status.
+     * @param value The value of the status column, may be null
+     * @return The matching status, or null for values outside the lifecycle
+     */
+    public static OrderStatus of(String value) {
+        if (value == null) {
+            return null;
+        }
+        for (OrderStatus status : values()) {
+            if (status.name().equalsIgnoreCase(value)) {
+                return status;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Resolves the status from its request value.
+     * @param param The requested status
+     * @return The matching status
+     * @throws HandlerException if the value is not a supported status
+     */
+    public static OrderStatus fromParam(String param) {
+        OrderStatus status = of(param == null ? null : param.trim());
+        if (status == null) {
+            throw new HandlerException("Estado no soportado: " + param, "VALIDATION_ERROR");
+        }
+        return status;
+    }
+}
@@ -0,0 +1,38 @@
+package com.app.orders.domain;
+
+/**
+ * Order Transition
+ * Outcome of a requested status change for one order of a bulk transition.
+ *
+ * @param orderId ID of the order
+ * @param outcome UPDATED, UNCHANGED, NOT_FOUND or INVALID_TRANSITION
+ * @param status  Status of the order after the request, null when it was not found
+ * @param message Reason the order was not changed, null otherwise
+ */
+public record OrderTransition(
+    Long orderId,
+    String outcome,
+    String status,
+    String message
+) {
+    public static final String UPDATED = "UPDATED";
+    public static final String UNCHANGED = "UNCHANGED";
+    public static final String NOT_FOUND = "NOT_FOUND";
+    public static final String INVALID_TRANSITION = "INVALID_TRANSITION";
+
+    public static OrderTransition updated(Order order) {
+        return new OrderTransition(order.getId(), UPDATED, order.getStatus(), null);
+    }
+
+    public static OrderTransition unchanged(Order order) {
+        return new OrderTransition(order.getId(), UNCHANGED, order.getStatus(), null);
+    }
+
+    public static OrderTransition notFound(Long orderId, String message) {
+        return new OrderTransition(orderId, NOT_FOUND, null, message);
+    }
+
+    public static OrderTransition invalid(Order order, String message) {
+        return new OrderTransition(order.getId(), INVALID_TRANSITION, order.getStatus(), message);
+    }
+}
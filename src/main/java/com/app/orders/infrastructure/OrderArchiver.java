@@ -0,0 +1,100 @@
+package com.app.orders.infrastructure;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.app.orders.domain.OrderStatus;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Order Archiver
+ * Scheduled job that moves delivered orders older than the configured age
+ * from 'orders' into 'orders_archive', one bounded batch per transaction, so
+ * the hot table and its indexes only hold the working set. Rows are claimed
+ * with SKIP LOCKED, so several instances can run the job without colliding.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.orders.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class OrderArchiver {
+
+    private static final String ARCHIVED_STATUS = OrderStatus.DELIVERED.name();
+    private static final String COLUMNS = "id, order_number, description, order_value, order_date,"
+            + " shipping_date, delivery_date, order_detail, status, customer_email, version";
+    private static final String LINE_COLUMNS = "id, order_id, product_id, quantity, unit_price";
+
+    // order_date < cutoff lets the (status, order_date, id) index bound the scan;
+    // delivery_date can only be later than order_date
+    private static final String CLAIM = "SELECT id FROM orders WHERE status = ? AND order_date < ?"
+            + " AND (delivery_date IS NULL OR delivery_date < ?) ORDER BY order_date, id LIMIT ?"
+            + " FOR UPDATE SKIP LOCKED";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int minAgeDays;
+    private final int batchSize;
+
+    public OrderArchiver(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            @Value("${app.orders.archive.min-age-days:90}") int minAgeDays,
+            @Value("${app.orders.archive.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.minAgeDays = minAgeDays;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Archives every eligible order, one batch per transaction.
+     * @return The number of orders archived
+     */
+    @Scheduled(fixedDelayString = "${app.orders.archive.interval:PT1H}",
+            initialDelayString = "${app.orders.archive.initial-delay:PT5M}")
+    public int archive() {
+        LocalDate cutoff = LocalDate.now().minusDays(minAgeDays);
+        int total = 0;
+        try {
+            int moved;
+            do {
+                Integer batch = transactionTemplate.execute(status -> archiveBatch(cutoff));
+                moved = batch == null ? 0 : batch;
+                total += moved;
+            } while (moved == batchSize);
+        } catch (DataAccessException e) {
+            log.error("Order archival stopped after {} orders", total, e);
+        }
+        if (total > 0) {
+            log.info("Archived {} orders delivered before {}", total, cutoff);
+        }
+        return total;
+    }
+
+    private int archiveBatch(LocalDate cutoff) {
+        List<Long> ids = jdbcTemplate.queryForList(CLAIM, Long.class, ARCHIVED_STATUS, cutoff, cutoff, batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        String placeholders = "(" + String.join(",", Collections.nCopies(ids.size(), "?")) + ")";
+        String in = " WHERE id IN " + placeholders;
+        String linesIn = " WHERE order_id IN " + placeholders;
+        Object[] params = ids.toArray();
+        jdbcTemplate.update("INSERT INTO orders_archive (" + COLUMNS + ") SELECT " + COLUMNS + " FROM orders" + in,
+                params);
+        // Lines reference their order, so they move first
+        jdbcTemplate.update("INSERT INTO order_lines_archive (" + LINE_COLUMNS + ") SELECT " + LINE_COLUMNS
+                + " FROM order_lines" + linesIn, params);
+        jdbcTemplate.update("DELETE FROM order_lines" + linesIn, params);
+        jdbcTemplate.update("DELETE FROM orders" + in, params);
+        return ids.size();
+    }
+}
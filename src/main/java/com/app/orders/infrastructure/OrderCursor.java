@@ -0,0 +1,48 @@
+package com.app.orders.infrastructure;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+import com.app.shared.application.exception.HandlerException;
+import com.app.shared.infrastructure.pagination.PageCursor;
+import com.app.orders.domain.Order;
+import com.app.orders.domain.OrderQuery;
+
+/**
+ * Order Cursor
+ * Encodes and decodes the opaque (orderDate, id) keyset cursors of order listings.
+ */
+public final class OrderCursor {
+
+    private OrderCursor() {
+    }
+
+    /**
+     * Builds the cursor pointing after the given order.
+     * @param last The last order of the current page
+     * @return The opaque cursor
+     */
+    public static String encode(Order last) {
+        return PageCursor.encode(last.getOrderDate(), last.getId());
+    }
+
+    /**
+     * Positions a query after the row a cursor points to.
+     * @param query The first-page query
+     * @param after Opaque cursor from a previous page, or null for the first page
+     * @return The positioned query
+     * @throws HandlerException if the cursor is malformed
+     */
+    public static OrderQuery decode(OrderQuery query, String after) {
+        if (after == null || after.isBlank()) {
+            return query;
+        }
+        String[] parts = PageCursor.decode(after, 2);
+        try {
+            return new OrderQuery(query.status(), query.fromDate(), query.toDate(), query.orderNumberPrefix(),
+                    LocalDate.parse(parts[0]), Long.valueOf(parts[1]));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new HandlerException("Cursor inválido: " + after, "VALIDATION_ERROR");
+        }
+    }
+}
@@ -1,12 +1,40 @@
 package com.app.orders.infrastructure;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
 
 import com.app.shared.application.exception.HandlerException;
+import com.app.shared.infrastructure.export.StreamingQuery;
+import com.app.shared.infrastructure.sequence.BlockSequences;
 import com.app.orders.domain.IOrderRepository;
 import com.app.orders.domain.Order;
+import com.app.orders.domain.OrderEvent;
+import com.app.orders.domain.OrderLine;
+import com.app.orders.domain.OrderQuery;
+import com.app.orders.domain.OrderStatus;
+import com.app.orders.domain.OrderTransition;
+import com.app.orders.infrastructure.events.OrderEventDatasource;
 
 /**
  * Order Datasource
@@ -22,16 +50,62 @@ public class OrderDatasource {
     private static final String ERROR_DELETING = "Error al eliminar order: ";
     private static final String ERROR_FINDING = "Error al obtener orders: ";
     private static final String ERROR_FINDING_BY_ID = "Error al obtener order por ID: ";
+    // Order numbers are allocated server side from the block sequence
+    private static final String ORDER_NUMBER_SEQUENCE = "order_number";
+    private static final String ORDER_NUMBER_FORMAT = "ORD-%08d";
+    private static final String INVALID_TRANSITION = "No se puede pasar una order de %s a %s";
+    private static final String LINES_LOCKED = "Solo se pueden cambiar las líneas de una order PENDING, estado actual: ";
+
+    // Bulk transitions lock and update at most this many orders per statement
+    private static final int TRANSITION_CHUNK_SIZE = 500;
+
+    private static final String VERSION_MISMATCH = "La order fue modificada por otra petición, versión actual: ";
+
+    // Listing projection; the order_detail LOB is only read by findById
+    private static final String SELECT_SUMMARY = "SELECT id, order_number, description, order_value, order_date,"
+            + " shipping_date, delivery_date, status, customer_email, version FROM orders";
+
+    // Batched insert; the driver rewrites the batch into multi-row INSERTs (rewriteBatchedStatements)
+    private static final String INSERT_ORDER = "INSERT INTO orders (order_number, description, order_value, order_date,"
+            + " shipping_date, delivery_date, order_detail, status, customer_email, version)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private static final String SELECT_ARCHIVED = "SELECT id, order_number, description, order_value, order_date,"
+            + " shipping_date, delivery_date, order_detail, status, customer_email, version FROM orders_archive WHERE id = ?";
+
+    private static final String SELECT_ALL = "SELECT id, order_number, description, order_value, order_date,"
+            + " shipping_date, delivery_date, order_detail, status, customer_email, version FROM orders ORDER BY id";
 
     private final IOrderRepository orderRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final BlockSequences blockSequences;
+    private final OrderStatsDatasource orderStatsDatasource;
+    private final OrderEventDatasource orderEventDatasource;
+    private final OrderLineDatasource orderLineDatasource;
+    private final int orderNumberBlockSize;
 
     /**
      * Constructor for dependency injection of the order repository.
      * 
-     * @param orderRepository the repository to be used for data operations
+     * @param orderRepository      the repository to be used for data operations
+     * @param jdbcTemplate         the template used for streaming read queries
+     * @param blockSequences       the allocator order numbers are drawn from
+     * @param orderStatsDatasource the rollup updated in the same transaction as each write
+     * @param orderEventDatasource the outbox each write appends its event to
+     * @param orderLineDatasource  prices, stores and batch-loads order lines
+     * @param orderNumberBlockSize how many order numbers a node reserves at a time
      */
-    public OrderDatasource(IOrderRepository orderRepository) {
+    public OrderDatasource(IOrderRepository orderRepository, JdbcTemplate jdbcTemplate,
+            BlockSequences blockSequences, OrderStatsDatasource orderStatsDatasource,
+            OrderEventDatasource orderEventDatasource, OrderLineDatasource orderLineDatasource,
+            @Value("${app.orders.number-block-size:100}") int orderNumberBlockSize) {
         this.orderRepository = orderRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.blockSequences = blockSequences;
+        this.orderStatsDatasource = orderStatsDatasource;
+        this.orderEventDatasource = orderEventDatasource;
+        this.orderLineDatasource = orderLineDatasource;
+        this.orderNumberBlockSize = orderNumberBlockSize;
     }
 
     /**
@@ -48,16 +122,94 @@ public class OrderDatasource {
         }
     }
 
+    /**
+     * Streams one filtered keyset page of orders ordered by (orderDate, id).
+     * Filters and the seek predicate are pushed down to SQL so they are served by
+     * the (order_date, id) and (status, order_date, id) indexes; the order_number
+     * prefix uses the unique order_number index. The order_detail LOB is not read.
+     * With lines, the page is buffered and the lines of all its orders are read
+     * with a single IN query before the orders are handed out.
+     * 
+     * @param query     filters and position of the page
+     * @param limit     maximum number of rows to read
+     * @param withLines whether to load the lines of the orders
+     * @param consumer  receives each order in (orderDate, id) order
+     * @throws HandlerException if database access fails
+     */
+    public void streamPage(OrderQuery query, int limit, boolean withLines, Consumer<Order> consumer) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+        if (query.status() != null) {
+            conditions.add("status = ?");
+            params.add(query.status());
+        }
+        if (query.fromDate() != null) {
+            conditions.add("order_date >= ?");
+            params.add(query.fromDate());
+        }
+        if (query.toDate() != null) {
+            conditions.add("order_date <= ?");
+            params.add(query.toDate());
+        }
+        if (query.orderNumberPrefix() != null) {
+            conditions.add("order_number LIKE ?");
+            params.add(escapeLike(query.orderNumberPrefix()) + "%");
+        }
+        if (query.afterId() != null) {
+            conditions.add("order_date >= ? AND (order_date > ? OR id > ?)");
+            params.add(query.afterDate());
+            params.add(query.afterDate());
+            params.add(query.afterId());
+        }
+        params.add(limit);
+
+        String where = conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+        String sql = SELECT_SUMMARY + where + " ORDER BY order_date, id LIMIT ?";
+        try {
+            if (!withLines) {
+                jdbcTemplate.query(sql, (RowCallbackHandler) rs -> consumer.accept(mapSummary(rs)), params.toArray());
+                return;
+            }
+            List<Order> page = jdbcTemplate.query(sql, (rs, rowNum) -> mapSummary(rs), params.toArray());
+            orderLineDatasource.attach(page, false);
+            page.forEach(consumer);
+        } catch (DataAccessException e) {
+            throw new HandlerException(ERROR_FINDING + e.getMessage(), "DATABASE_ERROR");
+        }
+    }
+
+    /**
+     * Streams every order in id order from a forward-only result set.
+     * Rows are handed to the consumer one at a time as the server sends them,
+     * so the export does not depend on the size of the table.
+     * 
+     * @param consumer receives each order
+     * @throws HandlerException if database access fails
+     */
+    public void streamAll(Consumer<Order> consumer) {
+        try {
+            jdbcTemplate.query(StreamingQuery.of(SELECT_ALL), (RowCallbackHandler) rs -> consumer.accept(mapFull(rs)));
+        } catch (Exception e) {
+            throw new HandlerException(ERROR_FINDING + e.getMessage(), "DATABASE_ERROR");
+        }
+    }
+
     /**
      * Retrieves an order by its ID.
+     * Orders moved out by the archival job are looked up in the archive when
+     * the hot table misses; archived orders are read-only.
+     * With lines, the order, its lines and their products are join fetched in
+     * a single query.
      * 
-     * @param id the order ID to search
+     * @param id        the order ID to search
+     * @param withLines whether to load the lines of the order
      * @return the found order
      * @throws HandlerException if order is not found or database error occurs
      */
-    public Order findById(Long id) {
+    public Order findById(Long id, boolean withLines) {
         try {
-            return orderRepository.findById(id)
+            return (withLines ? orderRepository.findWithLinesById(id) : orderRepository.findById(id))
+                    .or(() -> findArchived(id, withLines))
                     .orElseThrow(() -> new HandlerException(ORDER_NOT_FOUND + id, "NOT_FOUND"));
         } catch (HandlerException e) {
             throw e;
@@ -68,15 +220,84 @@ public class OrderDatasource {
 
     /**
      * Saves a new order to the database.
+     * The order number is assigned from the block sequence, so no uniqueness
+     * query is needed; the order date defaults to today and every order starts PENDING.
+     * When the order has lines, its value is derived from them, their stock is
+     * reserved and the lines are inserted with the order.
      * 
      * @param order the order to save
      * @return the saved order
-     * @throws HandlerException if database error occurs
+     * @throws HandlerException if a product does not exist or is out of stock,
+     *                          or database error occurs
      */
     public Order save(Order order) {
         try {
-            // Add validation for unique orderNumber here if necessary
-            return orderRepository.save(order);
+            orderLineDatasource.price(List.of(order));
+            orderLineDatasource.reserve(order.getLines());
+            prepareNew(order);
+            Order saved = orderRepository.save(order);
+            orderStatsDatasource.added(List.of(saved));
+            orderEventDatasource.append(OrderEvent.CREATED, List.of(saved));
+            return saved;
+        } catch (HandlerException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new HandlerException(ERROR_SAVING + e.getMessage(), "DATABASE_ERROR");
+        }
+    }
+
+    /**
+     * Inserts a group of new orders with one batched statement.
+     * Used by the ingestion writer so many orders share a single commit.
+     * 
+     * @param orders the orders to insert
+     * @return the same orders, in order, with their generated IDs and order numbers
+     * @throws HandlerException if database error occurs
+     */
+    public List<Order> saveAll(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return orders;
+        }
+        try {
+            orderLineDatasource.price(orders);
+            orderLineDatasource.reserve(orders.stream().flatMap(order -> order.getLines().stream()).toList());
+            orders.forEach(this::prepareNew);
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(
+                    con -> con.prepareStatement(INSERT_ORDER, Statement.RETURN_GENERATED_KEYS),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            Order order = orders.get(i);
+                            ps.setString(1, order.getOrderNumber());
+                            ps.setString(2, order.getDescription());
+                            ps.setDouble(3, order.getOrderValue());
+                            ps.setObject(4, order.getOrderDate());
+                            ps.setObject(5, order.getShippingDate());
+                            ps.setObject(6, order.getDeliveryDate());
+                            ps.setString(7, order.getOrderDetail());
+                            ps.setString(8, order.getStatus());
+                            ps.setString(9, order.getCustomerEmail());
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return orders.size();
+                        }
+                    },
+                    keyHolder);
+
+            List<Map<String, Object>> keys = keyHolder.getKeyList();
+            for (int i = 0; i < orders.size(); i++) {
+                orders.get(i).setId(((Number) keys.get(i).values().iterator().next()).longValue());
+                orders.get(i).setVersion(0L);
+            }
+            orderLineDatasource.insertAll(orders);
+            orderStatsDatasource.added(orders);
+            orderEventDatasource.append(OrderEvent.CREATED, orders);
+            return orders;
+        } catch (HandlerException e) {
+            throw e;
         } catch (Exception e) {
             throw new HandlerException(ERROR_SAVING + e.getMessage(), "DATABASE_ERROR");
         }
@@ -84,25 +305,133 @@ public class OrderDatasource {
 
     /**
      * Updates an existing order.
+     * The row is read once and only the fields carried by the request are copied;
+     * the order number is immutable. When lines are sent they replace the
+     * current ones, which is only allowed while the order is PENDING; the value
+     * is derived from them and only the difference in quantities is reserved or
+     * released. Without lines the current lines and their stock are kept, and a
+     * sent value only applies to orders that have no lines. A requested status
+     * must be an allowed transition from the current one.
+     * The @Version column turns the write into UPDATE ... WHERE id=? AND version=?,
+     * so a concurrent update is rejected instead of silently overwritten.
      * 
-     * @param order the order data to update
+     * @param order the order data to update, with the expected version or null
      * @param id    the ID of the order to update
      * @return the updated order
-     * @throws HandlerException if order is not found or database error occurs
+     * @throws HandlerException if order is not found, the version does not match,
+     *                          a product does not exist, lines are sent for an
+     *                          order that is no longer pending, the status
+     *                          transition is not allowed or database error occurs
      */
     public Order update(Order order, Long id) {
         try {
-            Order existing = findById(id);
+            Order existing = orderRepository.findById(id)
+                    .orElseThrow(() -> new HandlerException(ORDER_NOT_FOUND + id, "NOT_FOUND"));
+
+            if (order.getVersion() != null && !order.getVersion().equals(existing.getVersion())) {
+                throw new HandlerException(VERSION_MISMATCH + existing.getVersion(), "PRECONDITION_FAILED");
+            }
+
+            boolean replaceLines = !order.getLines().isEmpty();
+            if (replaceLines) {
+                if (OrderStatus.of(existing.getStatus()) != OrderStatus.PENDING) {
+                    throw new HandlerException(LINES_LOCKED + existing.getStatus(), "CONFLICT");
+                }
+                orderLineDatasource.price(List.of(order));
+                orderLineDatasource.reserveChange(existing.getLines(), order.getLines());
+            }
+            Order previous = statsSnapshot(existing);
+            existing.setDescription(order.getDescription());
+            if (replaceLines) {
+                existing.setOrderValue(order.getOrderValue());
+                existing.getLines().clear();
+                for (OrderLine line : order.getLines()) {
+                    line.setOrder(existing);
+                    existing.getLines().add(line);
+                }
+            } else if (existing.getLines().isEmpty() && order.getOrderValue() != null) {
+                existing.setOrderValue(order.getOrderValue());
+            }
+            if (order.getStatus() != null) {
+                applyStatus(existing, OrderStatus.fromParam(order.getStatus()));
+            }
+
+            Order updated = orderRepository.saveAndFlush(existing);
+            orderStatsDatasource.changed(previous, updated);
+            orderEventDatasource.append(OrderEvent.UPDATED, List.of(updated));
+            return updated;
+        } catch (HandlerException e) {
+            throw e;
+        } catch (OptimisticLockingFailureException e) {
+            throw versionMismatch(order.getVersion(), e);
+        } catch (Exception e) {
+            throw new HandlerException(ERROR_UPDATING + e.getMessage(), "DATABASE_ERROR");
+        }
+    }
+
+    /**
+     * Cancels an order and returns the stock reserved by its lines.
+     * Cancelling an already cancelled order changes nothing.
+     * 
+     * @param id      the ID of the order to cancel
+     * @param version the expected version, or null
+     * @return the cancelled order
+     * @throws HandlerException if order is not found, is no longer pending, the
+     *                          version does not match or database error occurs
+     */
+    public Order cancel(Long id, Long version) {
+        try {
+            Order existing = orderRepository.findById(id)
+                    .orElseThrow(() -> new HandlerException(ORDER_NOT_FOUND + id, "NOT_FOUND"));
+            if (version != null && !version.equals(existing.getVersion())) {
+                throw new HandlerException(VERSION_MISMATCH + existing.getVersion(), "PRECONDITION_FAILED");
+            }
+            Order previous = statsSnapshot(existing);
+            if (!applyStatus(existing, OrderStatus.CANCELLED)) {
+                return existing;
+            }
+
+            Order cancelled = orderRepository.saveAndFlush(existing);
+            orderStatsDatasource.changed(previous, cancelled);
+            orderEventDatasource.append(OrderEvent.UPDATED, List.of(cancelled));
+            return cancelled;
+        } catch (HandlerException e) {
+            throw e;
+        } catch (OptimisticLockingFailureException e) {
+            throw versionMismatch(version, e);
+        } catch (Exception e) {
+            throw new HandlerException(ERROR_UPDATING + e.getMessage(), "DATABASE_ERROR");
+        }
+    }
 
-            // Update allowed fields
-            existing.setOrderDate(order.getOrderDate());
-            existing.setOrderNumber(order.getOrderNumber());
-            existing.setShippingDate(order.getShippingDate());
-            existing.setDeliveryDate(order.getDeliveryDate());
-            existing.setOrderValue(order.getOrderValue());
-            existing.setOrderDetail(order.getOrderDetail());
+    // A write that lost a race fails the client's If-Match when it sent one, and conflicts otherwise
+    private static HandlerException versionMismatch(Long expectedVersion, OptimisticLockingFailureException e) {
+        return new HandlerException(VERSION_MISMATCH + e.getMessage(),
+                expectedVersion != null ? "PRECONDITION_FAILED" : "CONFLICT");
+    }
 
-            return orderRepository.save(existing);
+    /**
+     * Moves many orders to a new status with set-based statements.
+     * IDs are processed in chunks; each chunk is locked with one SELECT ... FOR
+     * UPDATE, checked against the allowed transitions and changed with a single
+     * UPDATE that also sets the shipping or delivery date. Cancelled orders
+     * return their stock with one aggregated release per chunk, and the rollup
+     * and outbox are updated once per chunk.
+     * 
+     * @param ids    the IDs of the orders to change; duplicates are ignored
+     * @param target the status to move them to
+     * @return the outcome for every distinct ID, in request order
+     * @throws HandlerException if database error occurs
+     */
+    public List<OrderTransition> transition(List<Long> ids, OrderStatus target) {
+        List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<OrderTransition> results = new ArrayList<>(distinct.size());
+        try {
+            for (int from = 0; from < distinct.size(); from += TRANSITION_CHUNK_SIZE) {
+                results.addAll(transitionChunk(
+                        distinct.subList(from, Math.min(from + TRANSITION_CHUNK_SIZE, distinct.size())), target));
+            }
+            return results;
         } catch (HandlerException e) {
             throw e;
         } catch (Exception e) {
@@ -112,20 +441,189 @@ public class OrderDatasource {
 
     /**
      * Deletes an order by its ID.
+     * Stock still held by the order is returned.
      * 
      * @param id the ID of the order to delete
      * @throws HandlerException if order is not found or database error occurs
      */
     public void deleteById(Long id) {
         try {
-            if (!orderRepository.existsById(id)) {
-                throw new HandlerException(ORDER_NOT_FOUND + id, "NOT_FOUND");
+            Order order = orderRepository.findById(id)
+                    .orElseThrow(() -> new HandlerException(ORDER_NOT_FOUND + id, "NOT_FOUND"));
+            if (holdsStock(order)) {
+                orderLineDatasource.release(order.getLines());
             }
-            orderRepository.deleteById(id);
+            orderStatsDatasource.removed(List.of(order));
+            orderEventDatasource.append(OrderEvent.DELETED, List.of(order));
+            orderRepository.delete(order);
         } catch (HandlerException e) {
             throw e;
         } catch (Exception e) {
             throw new HandlerException(ERROR_DELETING + e.getMessage(), "DATABASE_ERROR");
         }
     }
+
+    private Optional<Order> findArchived(Long id, boolean withLines) {
+        List<Order> archived = jdbcTemplate.query(SELECT_ARCHIVED, (rs, rowNum) -> mapFull(rs), id);
+        if (withLines) {
+            orderLineDatasource.attach(archived, true);
+        }
+        return archived.stream().findFirst();
+    }
+
+    private List<OrderTransition> transitionChunk(List<Long> ids, OrderStatus target) {
+        String in = " WHERE id IN (" + String.join(",", Collections.nCopies(ids.size(), "?")) + ")";
+        Map<Long, Order> current = new LinkedHashMap<>();
+        jdbcTemplate.query(SELECT_SUMMARY + in + " ORDER BY id FOR UPDATE",
+                (RowCallbackHandler) rs -> {
+                    Order order = mapSummary(rs);
+                    current.put(order.getId(), order);
+                }, ids.toArray());
+
+        Map<Long, OrderTransition> outcomes = new LinkedHashMap<>();
+        List<Order> previous = new ArrayList<>();
+        List<Order> changed = new ArrayList<>();
+        for (Long id : ids) {
+            Order order = current.get(id);
+            OrderStatus status = order == null ? null : OrderStatus.of(order.getStatus());
+            if (order == null) {
+                outcomes.put(id, OrderTransition.notFound(id, ORDER_NOT_FOUND + id));
+            } else if (status == target) {
+                outcomes.put(id, OrderTransition.unchanged(order));
+            } else if (status == null || !status.canBecome(target)) {
+                outcomes.put(id, OrderTransition.invalid(order,
+                        String.format(INVALID_TRANSITION, order.getStatus(), target)));
+            } else {
+                previous.add(statsSnapshot(order));
+                changed.add(order);
+            }
+        }
+        if (changed.isEmpty()) {
+            return new ArrayList<>(outcomes.values());
+        }
+
+        List<Long> changedIds = changed.stream().map(Order::getId).toList();
+        if (target == OrderStatus.CANCELLED) {
+            orderLineDatasource.releaseForOrders(changedIds);
+        }
+        LocalDate today = LocalDate.now();
+        List<Object> params = new ArrayList<>();
+        params.add(target.name());
+        String dates = switch (target) {
+            case SHIPPED -> {
+                params.add(today);
+                yield ", shipping_date = ?";
+            }
+            case DELIVERED -> {
+                params.add(today);
+                params.add(today);
+                yield ", delivery_date = ?, shipping_date = COALESCE(shipping_date, ?)";
+            }
+            default -> "";
+        };
+        params.addAll(changedIds);
+        jdbcTemplate.update("UPDATE orders SET status = ?, version = version + 1" + dates
+                + " WHERE id IN (" + String.join(",", Collections.nCopies(changedIds.size(), "?")) + ")",
+                params.toArray());
+
+        for (Order order : changed) {
+            order.setStatus(target.name());
+            applyDates(order, target, today);
+            order.setVersion(order.getVersion() + 1);
+            outcomes.put(order.getId(), OrderTransition.updated(order));
+        }
+        orderStatsDatasource.changed(previous, changed);
+        orderEventDatasource.append(OrderEvent.UPDATED, changed);
+        return new ArrayList<>(outcomes.values());
+    }
+
+    // Moves a managed order to the target status; returns false when it already has it
+    private boolean applyStatus(Order order, OrderStatus target) {
+        OrderStatus status = OrderStatus.of(order.getStatus());
+        if (status == target) {
+            return false;
+        }
+        if (status == null || !status.canBecome(target)) {
+            throw new HandlerException(String.format(INVALID_TRANSITION, order.getStatus(), target), "CONFLICT");
+        }
+        if (target == OrderStatus.CANCELLED && status.holdsStock()) {
+            orderLineDatasource.release(order.getLines());
+        }
+        order.setStatus(target.name());
+        applyDates(order, target, LocalDate.now());
+        return true;
+    }
+
+    private static void applyDates(Order order, OrderStatus target, LocalDate today) {
+        if (target == OrderStatus.SHIPPED) {
+            order.setShippingDate(today);
+        } else if (target == OrderStatus.DELIVERED) {
+            order.setDeliveryDate(today);
+            if (order.getShippingDate() == null) {
+                order.setShippingDate(today);
+            }
+        }
+    }
+
+    private static boolean holdsStock(Order order) {
+        OrderStatus status = OrderStatus.of(order.getStatus());
+        return status != null && status.holdsStock();
+    }
+
+    // Copy of the fields the rollup is keyed and summed by
+    private static Order statsSnapshot(Order order) {
+        Order snapshot = new Order();
+        snapshot.setOrderDate(order.getOrderDate());
+        snapshot.setStatus(order.getStatus());
+        snapshot.setOrderValue(order.getOrderValue());
+        return snapshot;
+    }
+
+    // Assigns the server-side fields of a new order
+    private void prepareNew(Order order) {
+        order.setId(null);
+        order.setVersion(null);
+        order.setOrderNumber(String.format(ORDER_NUMBER_FORMAT,
+                blockSequences.next(ORDER_NUMBER_SEQUENCE, orderNumberBlockSize)));
+        if (order.getOrderDate() == null) {
+            order.setOrderDate(LocalDate.now());
+        }
+        order.setStatus(OrderStatus.PENDING.name());
+    }
+
+    private static Order mapFull(ResultSet rs) throws SQLException {
+        return new Order(
+                rs.getLong("id"),
+                rs.getString("order_number"),
+                rs.getString("description"),
+                rs.getDouble("order_value"),
+                rs.getObject("order_date", LocalDate.class),
+                rs.getObject("shipping_date", LocalDate.class),
+                rs.getObject("delivery_date", LocalDate.class),
+                rs.getString("order_detail"),
+                rs.getString("status"),
+                rs.getString("customer_email"),
+                rs.getLong("version"),
+                new ArrayList<>());
+    }
+
+    private static Order mapSummary(ResultSet rs) throws SQLException {
+        return new Order(
+                rs.getLong("id"),
+                rs.getString("order_number"),
+                rs.getString("description"),
+                rs.getDouble("order_value"),
+                rs.getObject("order_date", LocalDate.class),
+                rs.getObject("shipping_date", LocalDate.class),
+                rs.getObject("delivery_date", LocalDate.class),
+                null,
+                rs.getString("status"),
+                rs.getString("customer_email"),
+                rs.getLong("version"),
+                new ArrayList<>());
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
 }
@@ -0,0 +1,236 @@
+package com.app.orders.infrastructure;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import com.app.shared.application.exception.HandlerException;
+import com.app.orders.domain.Order;
+import com.app.orders.domain.OrderLine;
+import com.app.products.domain.IProductRepository;
+import com.app.products.domain.Product;
+import com.app.products.infrastructure.ProductDatasource;
+
+/**
+ * Order Line Datasource
+ * Prices and stores the line items of orders, reserves their stock, and reads
+ * them back for a whole page of orders at a time, so listing N orders never
+ * issues N line queries.
+ */
+@Repository
+public class OrderLineDatasource {
+
+    private static final String PRODUCT_NOT_FOUND = "Producto no encontrado con ID: ";
+    private static final String PRODUCT_REQUIRED = "Cada línea del pedido debe indicar un producto";
+    private static final String VALUE_REQUIRED = "El pedido debe indicar totalPrice o lines";
+
+    private static final String INSERT_LINE = "INSERT INTO order_lines (order_id, product_id, quantity, unit_price)"
+            + " VALUES (?, ?, ?, ?)";
+
+    // Products are joined for their names; archived lines may outlive their product
+    private static final String SELECT_LINES = "SELECT l.id, l.order_id, l.product_id, l.quantity, l.unit_price,"
+            + " p.name FROM order_lines l JOIN products p ON p.id = l.product_id";
+    private static final String SELECT_ARCHIVED_LINES = "SELECT l.id, l.order_id, l.product_id, l.quantity,"
+            + " l.unit_price, p.name FROM order_lines_archive l LEFT JOIN products p ON p.id = l.product_id";
+
+    private final IProductRepository productRepository;
+    private final ProductDatasource productDatasource;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructor for dependency injection.
+     * 
+     * @param productRepository the repository the ordered products are read from
+     * @param productDatasource reserves and releases the stock of ordered products
+     * @param jdbcTemplate      the template used for batched writes and page reads
+     */
+    public OrderLineDatasource(IProductRepository productRepository, ProductDatasource productDatasource,
+            JdbcTemplate jdbcTemplate) {
+        this.productRepository = productRepository;
+        this.productDatasource = productDatasource;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Resolves the products of every line of the given orders with a single
+     * query, snapshots their current price into the lines and derives each
+     * order's value from its lines. Orders without lines keep the value they
+     * were given, which is then required.
+     * 
+     * @param orders the new or updated orders, with lines holding product IDs
+     * @throws HandlerException if a product does not exist or an order has no value
+     */
+    public void price(Collection<Order> orders) {
+        Set<Long> productIds = new LinkedHashSet<>();
+        for (Order order : orders) {
+            if (order.getLines().isEmpty() && order.getOrderValue() == null) {
+                throw new HandlerException(VALUE_REQUIRED, "VALIDATION_ERROR");
+            }
+            for (OrderLine line : order.getLines()) {
+                if (line.getProduct() == null || line.getProduct().getId() == null) {
+                    throw new HandlerException(PRODUCT_REQUIRED, "VALIDATION_ERROR");
+                }
+                productIds.add(line.getProduct().getId());
+            }
+        }
+        if (productIds.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Product> products = productRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        for (Long productId : productIds) {
+            if (!products.containsKey(productId)) {
+                throw new HandlerException(PRODUCT_NOT_FOUND + productId, "VALIDATION_ERROR");
+            }
+        }
+
+        for (Order order : orders) {
+            if (order.getLines().isEmpty()) {
+                continue;
+            }
+            double value = 0;
+            for (OrderLine line : order.getLines()) {
+                Product product = products.get(line.getProduct().getId());
+                line.setOrder(order);
+                line.setProduct(product);
+                line.setUnitPrice(product.getPrice());
+                value += line.total();
+            }
+            order.setOrderValue(value);
+        }
+    }
+
+    /**
+     * Reserves the stock of the given lines, one conditional UPDATE per product.
+     * 
+     * @param lines the lines of the orders being placed
+     * @throws HandlerException if a product does not have enough stock
+     */
+    public void reserve(Collection<OrderLine> lines) {
+        productDatasource.reserveStock(quantities(lines, 1, new HashMap<>()));
+    }
+
+    /**
+     * Returns the stock held by the given lines.
+     * 
+     * @param lines the lines of a cancelled or removed order
+     */
+    public void release(Collection<OrderLine> lines) {
+        productDatasource.reserveStock(quantities(lines, -1, new HashMap<>()));
+    }
+
+    /**
+     * Returns the stock held by the lines of many orders, summed per product
+     * by the database so no line is loaded.
+     * 
+     * @param orderIds the IDs of the cancelled orders
+     */
+    public void releaseForOrders(List<Long> orderIds) {
+        Map<Long, Integer> quantities = new HashMap<>();
+        jdbcTemplate.query("SELECT product_id, SUM(quantity) AS quantity FROM order_lines WHERE order_id IN ("
+                + String.join(",", Collections.nCopies(orderIds.size(), "?")) + ") GROUP BY product_id",
+                (RowCallbackHandler) rs -> quantities.put(rs.getLong("product_id"), -rs.getInt("quantity")),
+                orderIds.toArray());
+        productDatasource.reserveStock(quantities);
+    }
+
+    /**
+     * Reserves or releases only the difference when an order's lines are replaced.
+     * 
+     * @param previous the current lines of the order
+     * @param next     the lines replacing them
+     * @throws HandlerException if a product does not have enough stock
+     */
+    public void reserveChange(Collection<OrderLine> previous, Collection<OrderLine> next) {
+        productDatasource.reserveStock(quantities(next, 1, quantities(previous, -1, new HashMap<>())));
+    }
+
+    /**
+     * Inserts the lines of orders stored through JDBC with one batched statement.
+     * 
+     * @param orders priced orders that already have their generated IDs
+     */
+    public void insertAll(List<Order> orders) {
+        List<OrderLine> lines = orders.stream()
+                .flatMap(order -> order.getLines().stream())
+                .collect(Collectors.toList());
+        if (lines.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_LINE, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                OrderLine line = lines.get(i);
+                ps.setLong(1, line.getOrder().getId());
+                ps.setLong(2, line.getProduct().getId());
+                ps.setInt(3, line.getQuantity());
+                ps.setDouble(4, line.getUnitPrice());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return lines.size();
+            }
+        });
+    }
+
+    /**
+     * Loads the lines of a page of orders with one IN query and attaches them
+     * to their orders. Lines carry a product holding only its ID and name.
+     * 
+     * @param orders   the orders to fill, as read from the database
+     * @param archived whether the orders come from the archive
+     */
+    public void attach(List<Order> orders, boolean archived) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        Map<Long, Order> byId = orders.stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity(), (a, b) -> a));
+        byId.values().forEach(order -> order.setLines(new ArrayList<>()));
+
+        String sql = (archived ? SELECT_ARCHIVED_LINES : SELECT_LINES)
+                + " WHERE l.order_id IN (" + String.join(",", Collections.nCopies(byId.size(), "?")) + ")"
+                + " ORDER BY l.order_id, l.id";
+        jdbcTemplate.query(sql, rs -> {
+            Order order = byId.get(rs.getLong("order_id"));
+            order.getLines().add(mapLine(rs, order));
+        }, byId.keySet().toArray());
+    }
+
+    // Adds sign * quantity of every line to its product's total
+    private static Map<Long, Integer> quantities(Collection<OrderLine> lines, int sign, Map<Long, Integer> totals) {
+        for (OrderLine line : lines) {
+            totals.merge(line.getProduct().getId(), sign * line.getQuantity(), Integer::sum);
+        }
+        return totals;
+    }
+
+    private static OrderLine mapLine(ResultSet rs, Order order) throws SQLException {
+        Product product = new Product();
+        product.setId(rs.getLong("product_id"));
+        product.setName(rs.getString("name"));
+        return new OrderLine(
+                rs.getLong("id"),
+                order,
+                product,
+                rs.getInt("quantity"),
+                rs.getDouble("unit_price"));
+    }
+}
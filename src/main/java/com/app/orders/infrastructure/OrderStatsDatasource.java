@@ -0,0 +1,213 @@
+package com.app.orders.infrastructure;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import com.app.shared.application.exception.HandlerException;
+import com.app.orders.domain.Order;
+import com.app.orders.domain.OrderStatsBucket;
+import com.app.orders.domain.OrderStatsGroupBy;
+import com.app.shared.infrastructure.migration.Migrations;
+
+/**
+ * Order Stats Datasource
+ * Maintains the (day, status) order count and revenue rollup in the same
+ * transaction as the order writes, and answers statistics queries from it.
+ * Queries read one row per slot and bucket, never the orders table.
+ */
+@Repository
+public class OrderStatsDatasource {
+
+    private static final String ERROR_UPDATING = "Error al actualizar las estadísticas de orders: ";
+    private static final String ERROR_FINDING = "Error al obtener las estadísticas de orders: ";
+
+    private static final int SLOTS = 8;
+    private static final String APPLY =
+            "INSERT INTO order_daily_stats (day, status, slot, order_count, revenue) VALUES (?, ?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE order_count = order_count + VALUES(order_count), "
+            + "revenue = revenue + VALUES(revenue)";
+
+    private static final String BACKFILL_MIGRATION = "order_daily_stats.backfill";
+    // Archived orders stay in the rollup, so both tables are aggregated. Shared locks
+    // on every row wait for in-flight writers and archive moves and hold new ones
+    // back until the rebuilt rollup commits
+    private static final String AGGREGATE = "SELECT order_date, status, COUNT(*) AS order_count,"
+            + " COALESCE(SUM(order_value), 0) AS revenue FROM ("
+            + "(SELECT order_date, status, order_value FROM orders FOR SHARE)"
+            + " UNION ALL (SELECT order_date, status, order_value FROM orders_archive FOR SHARE)"
+            + ") AS all_orders GROUP BY order_date, status";
+    private static final String CLEAR = "DELETE FROM order_daily_stats";
+
+    // Monday of the day's ISO week
+    private static final String WEEK_START = "DATE_SUB(day, INTERVAL WEEKDAY(day) DAY)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Migrations migrations;
+
+    public OrderStatsDatasource(JdbcTemplate jdbcTemplate, Migrations migrations) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.migrations = migrations;
+    }
+
+    /**
+     * Adds orders to the rollup.
+     * @param orders The created orders
+     */
+    public void added(List<Order> orders) {
+        Map<Key, double[]> deltas = newDeltas();
+        orders.forEach(order -> accumulate(deltas, order, 1));
+        apply(deltas);
+    }
+
+    /**
+     * Replaces an order's previous contribution with its current one.
+     * @param previous Day, status and value of the order before the write
+     * @param current The order after the write
+     */
+    public void changed(Order previous, Order current) {
+        Map<Key, double[]> deltas = newDeltas();
+        accumulate(deltas, previous, -1);
+        accumulate(deltas, current, 1);
+        apply(deltas);
+    }
+
+    /**
+     * Replaces the previous contribution of many orders with their current one.
+     * @param previous Day, status and value of the orders before the write
+     * @param current The orders after the write
+     */
+    public void changed(List<Order> previous, List<Order> current) {
+        Map<Key, double[]> deltas = newDeltas();
+        previous.forEach(order -> accumulate(deltas, order, -1));
+        current.forEach(order -> accumulate(deltas, order, 1));
+        apply(deltas);
+    }
+
+    /**
+     * Removes orders from the rollup.
+     * @param orders The deleted orders
+     */
+    public void removed(List<Order> orders) {
+        Map<Key, double[]> deltas = newDeltas();
+        orders.forEach(order -> accumulate(deltas, order, -1));
+        apply(deltas);
+    }
+
+    /**
+     * Rebuilds the rollup from the live and archived orders, once per database.
+     * Rows written by orders created before it runs are replaced rather than
+     * taken as a sign that the rollup is already complete.
+     * @return true if the rollup was rebuilt now, false if that was already done
+     */
+    public boolean backfill() {
+        return migrations.runOnce(BACKFILL_MIGRATION, this::rebuild);
+    }
+
+    // Recomputes every (day, status) bucket into slot 0, in the caller's transaction
+    private void rebuild() {
+        Map<Key, double[]> totals = newDeltas();
+        jdbcTemplate.query(AGGREGATE, (RowCallbackHandler) rs -> {
+            double[] total = totals.computeIfAbsent(
+                    new Key(rs.getObject("order_date", LocalDate.class), rs.getString("status")),
+                    key -> new double[2]);
+            total[0] += rs.getLong("order_count");
+            total[1] += rs.getDouble("revenue");
+        });
+        jdbcTemplate.update(CLEAR);
+        write(totals, 0);
+    }
+
+    /**
+     * Reads order counts and revenue per bucket.
+     * @param from Earliest order date to include, or null
+     * @param to Latest order date to include, or null
+     * @param groupBy The bucket to group by
+     * @return One entry per non-empty bucket, in bucket order
+     */
+    public List<OrderStatsBucket> stats(LocalDate from, LocalDate to, OrderStatsGroupBy groupBy) {
+        String bucket = switch (groupBy) {
+            case DAY -> "day";
+            case WEEK -> WEEK_START;
+            case STATUS -> "status";
+        };
+        List<String> conditions = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+        if (from != null) {
+            conditions.add("day >= ?");
+            params.add(from);
+        }
+        if (to != null) {
+            conditions.add("day <= ?");
+            params.add(to);
+        }
+        String where = conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+        String sql = "SELECT " + bucket + " AS bucket, SUM(order_count) AS orders, SUM(revenue) AS revenue"
+                + " FROM order_daily_stats" + where
+                + " GROUP BY bucket HAVING SUM(order_count) <> 0 ORDER BY bucket";
+        try {
+            return jdbcTemplate.query(sql, (rs, rowNum) -> new OrderStatsBucket(
+                    rs.getString("bucket"), rs.getLong("orders"), rs.getDouble("revenue")), params.toArray());
+        } catch (DataAccessException e) {
+            throw new HandlerException(ERROR_FINDING + e.getMessage(), "DATABASE_ERROR");
+        }
+    }
+
+    private void apply(Map<Key, double[]> deltas) {
+        write(deltas, ThreadLocalRandom.current().nextInt(SLOTS));
+    }
+
+    private void write(Map<Key, double[]> deltas, int slot) {
+        deltas.values().removeIf(delta -> delta[0] == 0 && delta[1] == 0);
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<Key, double[]>> rows = new ArrayList<>(deltas.entrySet());
+        try {
+            jdbcTemplate.batchUpdate(APPLY, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    Map.Entry<Key, double[]> row = rows.get(i);
+                    ps.setObject(1, row.getKey().day());
+                    ps.setString(2, row.getKey().status());
+                    ps.setInt(3, slot);
+                    ps.setLong(4, (long) row.getValue()[0]);
+                    ps.setDouble(5, row.getValue()[1]);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return rows.size();
+                }
+            });
+        } catch (DataAccessException e) {
+            throw new HandlerException(ERROR_UPDATING + e.getMessage(), "DATABASE_ERROR");
+        }
+    }
+
+    // Sorted so concurrent writers lock rollup rows in the same order
+    private static Map<Key, double[]> newDeltas() {
+        return new TreeMap<>(Comparator.comparing(Key::day).thenComparing(Key::status));
+    }
+
+    private static void accumulate(Map<Key, double[]> deltas, Order order, int sign) {
+        double[] delta = deltas.computeIfAbsent(new Key(order.getOrderDate(), order.getStatus()), key -> new double[2]);
+        delta[0] += sign;
+        delta[1] += sign * order.getOrderValue();
+    }
+
+    private record Key(LocalDate day, String status) {
+    }
+}
@@ -0,0 +1,39 @@
+package com.app.orders.infrastructure.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Order Ingestion Response DTO
+ * Tracking state of an order submitted through the ingestion queue.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderIngestionResponse {
+    /**
+     * Identifier used to poll the ingestion status.
+     */
+    private String trackingId;
+
+    /**
+     * QUEUED, CREATED or FAILED.
+     */
+    private String status;
+
+    /**
+     * ID of the created order, null until it is committed.
+     */
+    private Long orderId;
+
+    /**
+     * Number of the created order, null until it is committed.
+     */
+    private String orderNumber;
+
+    /**
+     * Reason the order failed, null otherwise.
+     */
+    private String message;
+}
@@ -0,0 +1,29 @@
+package com.app.orders.infrastructure.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+/**
+ * Order Line Request DTO
+ * One product of an order creation or update request.
+ * The unit price is taken from the product by the server.
+ */
+@Data
+public class OrderLineRequest {
+
+    /**
+     * ID of the ordered product.
+     * Cannot be null.
+     */
+    @NotNull(message = "Product is required")
+    private Long productId;
+
+    /**
+     * Number of units ordered.
+     * Must be a positive number.
+     */
+    @NotNull(message = "Quantity is required")
+    @Positive(message = "Quantity must be greater than 0")
+    private Integer quantity;
+}
@@ -0,0 +1,39 @@
+package com.app.orders.infrastructure.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Order Line Response DTO
+ * One product of an order, with the price it had when the order was placed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderLineResponse {
+    /**
+     * ID of the ordered product.
+     */
+    private Long productId;
+
+    /**
+     * Name of the ordered product, or null if it no longer exists.
+     */
+    private String productName;
+
+    /**
+     * Number of units ordered.
+     */
+    private Integer quantity;
+
+    /**
+     * Price of one unit when the order was placed.
+     */
+    private Double unitPrice;
+
+    /**
+     * Quantity times unit price.
+     */
+    private Double lineTotal;
+}
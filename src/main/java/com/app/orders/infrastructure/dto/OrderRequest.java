@@ -1,7 +1,9 @@
 package com.app.orders.infrastructure.dto;
 
+import java.util.List;
+
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import lombok.Data;
 
@@ -12,12 +14,6 @@ import lombok.Data;
  */
 @Data
 public class OrderRequest {
-    /**
-     * Unique order number.
-     * Cannot be blank.
-     */
-    @NotBlank(message = "Order number is required")
-    private String orderNumber;
 
     /**
      * Detailed description of the order.
@@ -28,9 +24,21 @@ public class OrderRequest {
 
     /**
      * Total price of the order.
-     * Must be a positive number.
+     * Must be a positive number. Required when no lines are sent; ignored
+     * otherwise, as the total is then derived from the lines.
      */
-    @NotNull(message = "Total price is required")
     @Positive(message = "Total price must be greater than 0")
     private Double totalPrice;
+
+    /**
+     * Status to move the order to on update. Optional; ignored on creation,
+     * where every order starts PENDING.
+     */
+    private String status;
+
+    /**
+     * Products of the order. Optional.
+     */
+    @Valid
+    private List<OrderLineRequest> lines;
 }
@@ -1,6 +1,10 @@
 package com.app.orders.infrastructure.dto;
 
 import java.time.LocalDate; 
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -43,4 +47,10 @@ public class OrderResponse {
      * Status of the order (e.g., 'Pending', 'Shipped', 'Delivered').
      */
     private String status;
+
+    /**
+     * Products of the order. Only present when the lines were requested.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<OrderLineResponse> lines;
 }
@@ -0,0 +1,29 @@
+package com.app.orders.infrastructure.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Order Stats Response DTO
+ * Order count and revenue of one statistics bucket.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatsResponse {
+    /**
+     * The day or week start (yyyy-MM-dd), or the status.
+     */
+    private String bucket;
+
+    /**
+     * Number of orders in the bucket.
+     */
+    private long orders;
+
+    /**
+     * Sum of the order values in the bucket.
+     */
+    private double revenue;
+}
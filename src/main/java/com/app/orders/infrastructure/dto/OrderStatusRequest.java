@@ -0,0 +1,31 @@
+package com.app.orders.infrastructure.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+/**
+ * Order Status Request DTO
+ * Data Transfer Object for bulk order status transitions.
+ */
+@Data
+public class OrderStatusRequest {
+
+    /**
+     * IDs of the orders to change.
+     * Between 1 and 5000 IDs.
+     */
+    @NotEmpty(message = "Order IDs are required")
+    @Size(max = 5000, message = "At most 5000 orders can be changed at once")
+    private List<@NotNull(message = "Order IDs cannot be null") Long> ids;
+
+    /**
+     * Status to move the orders to: SHIPPED, DELIVERED or CANCELLED.
+     */
+    @NotBlank(message = "Status is required")
+    private String status;
+}
@@ -0,0 +1,46 @@
+package com.app.orders.infrastructure.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+
+/**
+ * Order Status Response DTO
+ * Summary and per-order outcomes of a bulk status transition.
+ */
+@Data
+public class OrderStatusResponse {
+    /**
+     * Number of orders moved to the requested status.
+     */
+    private int updated;
+
+    /**
+     * Number of orders that already had the requested status.
+     */
+    private int unchanged;
+
+    /**
+     * Number of orders not found or not allowed to make the transition.
+     */
+    private int rejected;
+
+    /**
+     * Outcome of every distinct order ID, in request order.
+     */
+    private List<OrderStatusResult> results = new ArrayList<>();
+
+    /**
+     * Records the outcome of one order and updates the counters.
+     * @param result The order outcome
+     */
+    public void add(OrderStatusResult result) {
+        switch (result.getOutcome()) {
+            case "UPDATED" -> updated++;
+            case "UNCHANGED" -> unchanged++;
+            default -> rejected++;
+        }
+        results.add(result);
+    }
+}
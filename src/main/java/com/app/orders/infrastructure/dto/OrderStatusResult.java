@@ -0,0 +1,34 @@
+package com.app.orders.infrastructure.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Order Status Result DTO
+ * Outcome of a bulk status transition for one order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusResult {
+    /**
+     * ID of the order.
+     */
+    private Long id;
+
+    /**
+     * Outcome: UPDATED, UNCHANGED, NOT_FOUND or INVALID_TRANSITION.
+     */
+    private String outcome;
+
+    /**
+     * Status of the order after the request, null when it was not found.
+     */
+    private String status;
+
+    /**
+     * Reason the order was not changed, null otherwise.
+     */
+    private String message;
+}
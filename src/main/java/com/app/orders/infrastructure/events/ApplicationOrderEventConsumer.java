@@ -0,0 +1,29 @@
+package com.app.orders.infrastructure.events;
+
+import java.util.List;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import com.app.orders.domain.OrderEvent;
+import com.app.orders.domain.OrderEventConsumer;
+
+/**
+ * Application Order Event Consumer
+ * Republishes outbox events as Spring application events, so in-process
+ * listeners can subscribe with @EventListener(OrderEvent.class).
+ */
+@Component
+public class ApplicationOrderEventConsumer implements OrderEventConsumer {
+
+    private final ApplicationEventPublisher publisher;
+
+    public ApplicationOrderEventConsumer(ApplicationEventPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    @Override
+    public void consume(List<OrderEvent> events) {
+        events.forEach(publisher::publishEvent);
+    }
+}
@@ -0,0 +1,171 @@
+package com.app.orders.infrastructure.events;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.app.shared.application.exception.HandlerException;
+import com.app.orders.domain.Order;
+import com.app.orders.domain.OrderEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Order Event Datasource
+ * Appends order events to the outbox and reads them back for the relay.
+ */
+@Repository
+public class OrderEventDatasource {
+
+    private static final String ERROR_APPENDING = "Error al registrar eventos de orders: ";
+
+    private static final String INSERT =
+            "INSERT INTO order_events (order_id, type, payload, created_at) VALUES (?, ?, ?, ?)";
+    // Locks the head of the outbox only for as long as it takes to claim it
+    private static final String LOCK_BATCH = "SELECT id, order_id, type, payload, created_at, claimed_by,"
+            + " claimed_until FROM order_events ORDER BY id LIMIT ? FOR UPDATE";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public OrderEventDatasource(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Appends one event per order, joining the caller's transaction.
+     * @param type The event type
+     * @param orders The changed orders
+     * @throws HandlerException if the events cannot be written
+     */
+    public void append(String type, List<Order> orders) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        List<String> payloads = new ArrayList<>(orders.size());
+        try {
+            for (Order order : orders) {
+                payloads.add(objectMapper.writeValueAsString(snapshot(order)));
+            }
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            jdbcTemplate.batchUpdate(INSERT, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    ps.setLong(1, orders.get(i).getId());
+                    ps.setString(2, type);
+                    ps.setString(3, payloads.get(i));
+                    ps.setTimestamp(4, now);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return orders.size();
+                }
+            });
+        } catch (JsonProcessingException | DataAccessException e) {
+            throw new HandlerException(ERROR_APPENDING + e.getMessage(), "DATABASE_ERROR");
+        }
+    }
+
+    /**
+     * Claims the oldest pending events for one relay run. Must run in a short
+     * transaction: the rows are locked only until it commits, and delivery
+     * happens afterwards, outside any lock.
+     * While another run holds an unexpired claim on the head of the outbox
+     * nothing is claimed, so only one relay delivers at a time and order is kept.
+     * @param claimId Identifies the relay run
+     * @param limit Maximum number of events
+     * @param timeout How long the claim holds before another run may take it over
+     * @return The claimed events, in outbox order; empty if there are none or
+     *         another run is delivering
+     */
+    public List<OrderEvent> claimBatch(String claimId, int limit, Duration timeout) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OrderEvent> events = jdbcTemplate.query(LOCK_BATCH, (rs, rowNum) -> new OrderEvent(
+                rs.getLong("id"),
+                rs.getLong("order_id"),
+                rs.getString("type"),
+                rs.getString("payload"),
+                rs.getTimestamp("created_at").toLocalDateTime(),
+                rs.getString("claimed_by"),
+                rs.getTimestamp("claimed_until") == null ? null : rs.getTimestamp("claimed_until").toLocalDateTime()),
+                limit);
+        boolean claimedElsewhere = events.stream().anyMatch(event -> event.getClaimedBy() != null
+                && !event.getClaimedBy().equals(claimId) && event.getClaimedUntil().isAfter(now));
+        if (events.isEmpty() || claimedElsewhere) {
+            return List.of();
+        }
+        LocalDateTime until = now.plus(timeout);
+        List<Object> params = new ArrayList<>(events.size() + 2);
+        params.add(claimId);
+        params.add(Timestamp.valueOf(until));
+        events.forEach(event -> params.add(event.getId()));
+        jdbcTemplate.update("UPDATE order_events SET claimed_by = ?, claimed_until = ? WHERE id IN ("
+                + placeholders(events.size()) + ")", params.toArray());
+        events.forEach(event -> {
+            event.setClaimedBy(claimId);
+            event.setClaimedUntil(until);
+        });
+        return events;
+    }
+
+    /**
+     * Removes delivered events, unless another run took the claim over.
+     * @param events The delivered events
+     * @param claimId The relay run that delivered them
+     */
+    public void delete(List<OrderEvent> events, String claimId) {
+        jdbcTemplate.update("DELETE FROM order_events WHERE claimed_by = ? AND id IN ("
+                + placeholders(events.size()) + ")", withClaim(claimId, events));
+    }
+
+    /**
+     * Gives claimed events back after a failed delivery, so the next run retries them.
+     * @param events The events that could not be delivered
+     * @param claimId The relay run that claimed them
+     */
+    public void release(List<OrderEvent> events, String claimId) {
+        jdbcTemplate.update("UPDATE order_events SET claimed_by = NULL, claimed_until = NULL"
+                + " WHERE claimed_by = ? AND id IN (" + placeholders(events.size()) + ")",
+                withClaim(claimId, events));
+    }
+
+    private static String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+
+    private static Object[] withClaim(String claimId, List<OrderEvent> events) {
+        List<Object> params = new ArrayList<>(events.size() + 1);
+        params.add(claimId);
+        events.forEach(event -> params.add(event.getId()));
+        return params.toArray();
+    }
+
+    private static Map<String, Object> snapshot(Order order) {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("id", order.getId());
+        snapshot.put("orderNumber", order.getOrderNumber());
+        snapshot.put("description", order.getDescription());
+        snapshot.put("orderValue", order.getOrderValue());
+        snapshot.put("orderDate", order.getOrderDate());
+        snapshot.put("shippingDate", order.getShippingDate());
+        snapshot.put("deliveryDate", order.getDeliveryDate());
+        snapshot.put("status", order.getStatus());
+        snapshot.put("customerEmail", order.getCustomerEmail());
+        snapshot.put("version", order.getVersion());
+        return snapshot;
+    }
+}
@@ -0,0 +1,83 @@
+package com.app.orders.infrastructure.events;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.app.orders.domain.OrderEvent;
+import com.app.orders.domain.OrderEventConsumer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Order Event Relay
+ * Delivers the outbox to every OrderEventConsumer in batches. Each batch is
+ * claimed in a short transaction, handed to the consumers outside of it and
+ * then deleted, so slow consumers never hold locks that writers of the outbox
+ * wait on. If a consumer fails the claim is released and the same batch is
+ * retried on the next run; if the node dies the claim expires and another run
+ * takes it over, giving at-least-once, in-order delivery.
+ */
+@Slf4j
+@Component
+public class OrderEventRelay {
+
+    private final OrderEventDatasource orderEventDatasource;
+    private final List<OrderEventConsumer> consumers;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration claimTimeout;
+
+    /**
+     * @param claimTimeout How long a run may take to deliver a batch before
+     *                     another run may claim it again; must exceed the
+     *                     slowest consumer's timeout
+     */
+    public OrderEventRelay(OrderEventDatasource orderEventDatasource, List<OrderEventConsumer> consumers,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.orders.events.batch-size:500}") int batchSize,
+            @Value("${app.orders.events.claim-timeout:PT2M}") Duration claimTimeout) {
+        this.orderEventDatasource = orderEventDatasource;
+        this.consumers = consumers;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.claimTimeout = claimTimeout;
+    }
+
+    /**
+     * Drains the outbox until a batch comes back short or a consumer fails.
+     */
+    @Scheduled(fixedDelayString = "${app.orders.events.relay-interval:PT1S}")
+    public void relay() {
+        String claimId = UUID.randomUUID().toString();
+        try {
+            List<OrderEvent> events;
+            do {
+                events = transactionTemplate.execute(
+                        status -> orderEventDatasource.claimBatch(claimId, batchSize, claimTimeout));
+                if (events == null || events.isEmpty()) {
+                    return;
+                }
+                deliver(events, claimId);
+                orderEventDatasource.delete(events, claimId);
+            } while (events.size() == batchSize);
+        } catch (RuntimeException e) {
+            log.warn("Order event delivery failed, retrying on the next run: {}", e.getMessage());
+        }
+    }
+
+    private void deliver(List<OrderEvent> events, String claimId) {
+        try {
+            consumers.forEach(consumer -> consumer.consume(events));
+        } catch (RuntimeException e) {
+            orderEventDatasource.release(events, claimId);
+            throw e;
+        }
+    }
+}
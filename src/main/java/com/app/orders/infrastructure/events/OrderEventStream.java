@@ -0,0 +1,235 @@
+package com.app.orders.infrastructure.events;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.app.orders.domain.OrderEvent;
+import com.app.orders.domain.OrderEventConsumer;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Order Event Stream
+ * Pushes committed order changes to Server-Sent Events subscribers, each of
+ * which only receives the orders of its own user. Events come from the outbox
+ * relay, so only committed changes are sent, and carry the outbox ID as their
+ * SSE id.
+ *
+ * Idle connections are plain async servlet responses and hold no thread. Each
+ * subscriber has its own bounded queue drained by a virtual thread only while
+ * there is something to send, so a slow client never delays the others; a
+ * client that falls too far behind is disconnected and resumes with
+ * Last-Event-ID from the in-memory replay buffer.
+ *
+ * Outbox IDs are allocated at insert time, not at commit, so events can
+ * arrive out of ID order. The replay buffer therefore keeps arrival order,
+ * duplicates are recognised by the set of IDs it holds, and a resume starts
+ * right after the position of the client's last event in the buffer.
+ *
+ * Only the node whose relay run delivers a batch sees it, and the replay
+ * buffer is local to the node: the stream is only complete when a single
+ * instance serves the API. Several instances would need a broadcast channel
+ * between nodes, which this application does not have.
+ */
+@Component
+public class OrderEventStream implements OrderEventConsumer {
+
+    // Tells a resuming client that events may have been missed and it should reload
+    private static final String RESET_EVENT = "reset";
+
+    private final ObjectMapper objectMapper;
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final int replaySize;
+    private final int queueCapacity;
+    private final long timeoutMillis;
+
+    // Guarded by this; events in arrival order and the IDs they hold
+    private final ArrayDeque<StreamedEvent> replay = new ArrayDeque<>();
+    private final Set<Long> replayIds = new HashSet<>();
+
+    public OrderEventStream(ObjectMapper objectMapper,
+            @Value("${app.orders.stream.replay-size:10000}") int replaySize,
+            @Value("${app.orders.stream.queue-capacity:1000}") int queueCapacity,
+            @Value("${app.orders.stream.timeout:PT30M}") Duration timeout) {
+        this.objectMapper = objectMapper;
+        this.replaySize = replaySize;
+        this.queueCapacity = queueCapacity;
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    /**
+     * Opens a stream of the changes to a user's orders.
+     * The user's events that arrived after lastEventId are sent first; when
+     * lastEventId is no longer in the replay buffer, events may have been
+     * missed and a 'reset' event is sent instead.
+     * @param customerEmail The authenticated user
+     * @param lastEventId   The Last-Event-ID sent by a reconnecting client, or null
+     * @return The emitter to return from the controller
+     */
+    public SseEmitter subscribe(String customerEmail, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> remove(customerEmail, subscriber));
+        emitter.onTimeout(() -> remove(customerEmail, subscriber));
+        emitter.onError(e -> remove(customerEmail, subscriber));
+
+        // Replay and registration happen atomically with respect to consume,
+        // so no event is missed or sent twice in between
+        synchronized (this) {
+            if (lastEventId != null) {
+                replaySince(lastEventId, customerEmail).forEach(subscriber::offer);
+            }
+            subscribers.computeIfAbsent(customerEmail, key -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        }
+        return emitter;
+    }
+
+    @Override
+    public synchronized void consume(List<OrderEvent> events) {
+        for (OrderEvent event : events) {
+            String customerEmail = customerEmail(event);
+            // Redelivered when the relay failed after this consumer ran
+            if (customerEmail == null || replayIds.contains(event.getId())) {
+                continue;
+            }
+            StreamedEvent streamed = new StreamedEvent(event.getId(), customerEmail, event.getType(),
+                    event.getPayload());
+            replay.addLast(streamed);
+            replayIds.add(streamed.id());
+            if (replay.size() > replaySize) {
+                replayIds.remove(replay.removeFirst().id());
+            }
+            Set<Subscriber> targets = subscribers.get(customerEmail);
+            if (targets != null) {
+                targets.forEach(subscriber -> subscriber.offer(streamed::toSse));
+            }
+        }
+    }
+
+    /**
+     * Sends a comment to every subscriber so proxies keep idle connections
+     * open and dead ones are detected.
+     */
+    @Scheduled(fixedDelayString = "${app.orders.stream.heartbeat:PT15S}")
+    public void heartbeat() {
+        subscribers.values().forEach(set -> set.forEach(
+                subscriber -> subscriber.offer(() -> SseEmitter.event().comment("heartbeat"))));
+    }
+
+    /**
+     * Closes every stream and stops the senders on shutdown.
+     */
+    @PreDestroy
+    public void close() {
+        subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.emitter.complete()));
+        senders.shutdown();
+    }
+
+    /**
+     * Events of a user that arrived after the given one, or a single 'reset'
+     * event when it is no longer buffered. Must be called holding this.
+     */
+    List<Supplier<SseEmitter.SseEventBuilder>> replaySince(long lastEventId, String customerEmail) {
+        if (!replayIds.contains(lastEventId)) {
+            return List.of(() -> SseEmitter.event().name(RESET_EVENT).data(RESET_EVENT));
+        }
+        Iterator<StreamedEvent> newestFirst = replay.descendingIterator();
+        ArrayDeque<Supplier<SseEmitter.SseEventBuilder>> missed = new ArrayDeque<>();
+        StreamedEvent event;
+        while ((event = newestFirst.next()).id() != lastEventId) {
+            if (event.customerEmail().equals(customerEmail)) {
+                missed.addFirst(event::toSse);
+            }
+        }
+        return List.copyOf(missed);
+    }
+
+    private void remove(String customerEmail, Subscriber subscriber) {
+        subscriber.closed = true;
+        subscribers.computeIfPresent(customerEmail, (key, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private String customerEmail(OrderEvent event) {
+        try {
+            return objectMapper.readTree(event.getPayload()).path("customerEmail").textValue();
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private record StreamedEvent(long id, String customerEmail, String type, String payload) {
+        // A builder can only be built once, so every send gets a new one
+        SseEmitter.SseEventBuilder toSse() {
+            return SseEmitter.event().id(Long.toString(id)).name(type).data(payload);
+        }
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final Queue<Supplier<SseEmitter.SseEventBuilder>> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        private void offer(Supplier<SseEmitter.SseEventBuilder> event) {
+            if (closed) {
+                return;
+            }
+            if (size.incrementAndGet() > queueCapacity) {
+                // Too far behind; the client reconnects and resumes from the replay buffer
+                closed = true;
+                emitter.complete();
+                return;
+            }
+            pending.add(event);
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            do {
+                Supplier<SseEmitter.SseEventBuilder> event;
+                while (!closed && (event = pending.poll()) != null) {
+                    size.decrementAndGet();
+                    try {
+                        emitter.send(event.get());
+                    } catch (IOException | IllegalStateException e) {
+                        closed = true;
+                        emitter.completeWithError(e);
+                    }
+                }
+                draining.set(false);
+            } while (!closed && !pending.isEmpty() && draining.compareAndSet(false, true));
+        }
+    }
+}
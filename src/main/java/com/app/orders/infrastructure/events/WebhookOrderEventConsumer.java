@@ -0,0 +1,47 @@
+package com.app.orders.infrastructure.events;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import com.app.orders.domain.OrderEvent;
+import com.app.orders.domain.OrderEventConsumer;
+
+/**
+ * Webhook Order Event Consumer
+ * POSTs each batch of order events as one JSON array to the configured URL.
+ * Any non-2xx answer fails the batch, which the relay retries later.
+ * Enabled only when app.orders.events.webhook-url is set.
+ */
+@Component
+@ConditionalOnExpression("!'${app.orders.events.webhook-url:}'.isBlank()")
+public class WebhookOrderEventConsumer implements OrderEventConsumer {
+
+    // A hung endpoint must give up well before the relay's claim on the batch expires
+    private static final int CONNECT_TIMEOUT_MS = 5_000;
+    private static final int READ_TIMEOUT_MS = 30_000;
+
+    private final RestClient restClient;
+
+    public WebhookOrderEventConsumer(RestClient.Builder restClientBuilder,
+            @Value("${app.orders.events.webhook-url}") String webhookUrl) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(CONNECT_TIMEOUT_MS);
+        requestFactory.setReadTimeout(READ_TIMEOUT_MS);
+        this.restClient = restClientBuilder.baseUrl(webhookUrl).requestFactory(requestFactory).build();
+    }
+
+    @Override
+    public void consume(List<OrderEvent> events) {
+        restClient.post()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(events)
+                .retrieve()
+                .toBodilessEntity();
+    }
+}
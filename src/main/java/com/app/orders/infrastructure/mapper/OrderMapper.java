@@ -1,10 +1,25 @@
 package com.app.orders.infrastructure.mapper;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
 import org.springframework.stereotype.Component;
 
+import com.app.shared.infrastructure.export.ExportColumn;
 import com.app.orders.domain.Order;
+import com.app.orders.domain.OrderIngestion;
+import com.app.orders.domain.OrderLine;
+import com.app.orders.domain.OrderStatsBucket;
+import com.app.orders.domain.OrderTransition;
+import com.app.orders.infrastructure.dto.OrderIngestionResponse;
+import com.app.orders.infrastructure.dto.OrderLineRequest;
+import com.app.orders.infrastructure.dto.OrderLineResponse;
 import com.app.orders.infrastructure.dto.OrderRequest;
+import com.app.orders.infrastructure.dto.OrderStatsResponse;
+import com.app.orders.infrastructure.dto.OrderStatusResult;
 import com.app.orders.infrastructure.dto.OrderResponse;
+import com.app.products.domain.Product;
 
 /**
  * Order Mapper
@@ -14,6 +29,20 @@ import com.app.orders.infrastructure.dto.OrderResponse;
 @Component
 public class OrderMapper {
 
+    /**
+     * Columns of the order export, in output order.
+     */
+    public static final List<ExportColumn<Order>> EXPORT_COLUMNS = List.of(
+            new ExportColumn<>("id", Order::getId),
+            new ExportColumn<>("orderNumber", Order::getOrderNumber),
+            new ExportColumn<>("description", Order::getDescription),
+            new ExportColumn<>("orderValue", Order::getOrderValue),
+            new ExportColumn<>("orderDate", Order::getOrderDate),
+            new ExportColumn<>("shippingDate", Order::getShippingDate),
+            new ExportColumn<>("deliveryDate", Order::getDeliveryDate),
+            new ExportColumn<>("orderDetail", Order::getOrderDetail),
+            new ExportColumn<>("status", Order::getStatus));
+
     /**
      * Converts an OrderRequest DTO to an Order entity.
      * 
@@ -22,9 +51,10 @@ public class OrderMapper {
      */
     public Order toEntity(OrderRequest request) {
         Order order = new Order();
-        order.setOrderNumber(request.getOrderNumber());
         order.setDescription(request.getDescription());
         order.setOrderValue(request.getTotalPrice());
+        order.setStatus(request.getStatus());
+        order.setLines(toLines(request));
         return order;
     }
 
@@ -35,13 +65,80 @@ public class OrderMapper {
      * @return A new OrderResponse DTO with the entity data
      */
     public OrderResponse toResponse(Order order) {
+        return toResponse(order, false);
+    }
+
+    /**
+     * Converts an Order entity to an OrderResponse DTO, optionally embedding
+     * its lines. The lines should have been fetched with the order.
+     * 
+     * @param order     The order entity to convert
+     * @param withLines Whether to include the order lines
+     * @return A new OrderResponse DTO with the entity data
+     */
+    public OrderResponse toResponse(Order order, boolean withLines) {
         return new OrderResponse(
                 order.getId(),
                 order.getOrderNumber(),
                 order.getDescription(),
                 order.getOrderValue(),
                 order.getOrderDate(),
-                order.getStatus());
+                order.getStatus(),
+                withLines ? order.getLines().stream().map(this::toResponse).collect(Collectors.toList()) : null);
+    }
+
+    /**
+     * Converts an OrderLine entity to an OrderLineResponse DTO.
+     * 
+     * @param line The order line to convert
+     * @return A new OrderLineResponse DTO
+     */
+    public OrderLineResponse toResponse(OrderLine line) {
+        return new OrderLineResponse(
+                line.getProduct().getId(),
+                line.getProduct().getName(),
+                line.getQuantity(),
+                line.getUnitPrice(),
+                line.total());
+    }
+
+    /**
+     * Converts an OrderIngestion tracking state to its response DTO.
+     * 
+     * @param ingestion The tracking state to convert
+     * @return A new OrderIngestionResponse DTO
+     */
+    public OrderIngestionResponse toResponse(OrderIngestion ingestion) {
+        return new OrderIngestionResponse(
+                ingestion.trackingId(),
+                ingestion.status(),
+                ingestion.orderId(),
+                ingestion.orderNumber(),
+                ingestion.message());
+    }
+
+    /**
+     * Converts an OrderStatsBucket to its response DTO.
+     * 
+     * @param bucket The statistics bucket to convert
+     * @return A new OrderStatsResponse DTO
+     */
+    public OrderStatsResponse toResponse(OrderStatsBucket bucket) {
+        return new OrderStatsResponse(bucket.bucket(), bucket.orders(), bucket.revenue());
+    }
+
+    /**
+     * Converts the outcome of a bulk status transition to its response DTO.
+     * 
+     * @param transition The outcome for one order
+     * @return A new OrderStatusResult DTO
+     */
+    public OrderStatusResult toResponse(OrderTransition transition) {
+        return new OrderStatusResult(
+                transition.orderId(),
+                transition.outcome(),
+                transition.status(),
+                transition.message());
     }
 
     /**
@@ -51,8 +148,26 @@ public class OrderMapper {
      * @param request The request DTO containing the new data
      */
     public void updateEntityFromRequest(Order order, OrderRequest request) {
-        order.setOrderNumber(request.getOrderNumber());
         order.setDescription(request.getDescription());
         order.setOrderValue(request.getTotalPrice());
+        order.setStatus(request.getStatus());
+        order.setLines(toLines(request));
+    }
+
+    // Lines reference their product by ID only; prices are resolved by the server
+    private static List<OrderLine> toLines(OrderRequest request) {
+        List<OrderLine> lines = new ArrayList<>();
+        if (request.getLines() == null) {
+            return lines;
+        }
+        for (OrderLineRequest lineRequest : request.getLines()) {
+            Product product = new Product();
+            product.setId(lineRequest.getProductId());
+            OrderLine line = new OrderLine();
+            line.setProduct(product);
+            line.setQuantity(lineRequest.getQuantity());
+            lines.add(line);
+        }
+        return lines;
     }
 }
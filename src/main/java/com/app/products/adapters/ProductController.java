@@ -1,18 +1,39 @@
 package com.app.products.adapters;
 
+import java.io.IOException;
+import java.security.Principal;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.app.shared.adapters.BaseController;
+import com.app.shared.application.exception.HandlerException;
+import com.app.shared.infrastructure.export.ExportFormat;
+import com.app.shared.infrastructure.export.ExportWriter;
+import com.app.shared.infrastructure.idempotency.IdempotencyStore;
+import com.app.shared.infrastructure.pagination.JsonPageWriter;
 import com.app.products.domain.IProductService;
 import com.app.products.domain.Product;
+import com.app.products.domain.ProductBulkImportResponse;
+import com.app.products.domain.ProductFacets;
+import com.app.products.domain.ProductQuery;
+import com.app.products.domain.ProductSort;
+import com.app.products.infrastructure.ProductCursor;
 import com.app.products.infrastructure.dto.ProductRequest;
 import com.app.products.infrastructure.dto.ProductResponse;
+import com.app.products.infrastructure.dto.StockAdjustmentRequest;
 import com.app.products.infrastructure.mapper.ProductMapper;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
@@ -26,62 +47,192 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class ProductController extends BaseController {
 
+    private static final int DEFAULT_SEARCH_LIMIT = 20;
+    private static final int MAX_SEARCH_LIMIT = 100;
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     private final IProductService productService;
     private final ProductMapper productMapper;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyStore idempotencyStore;
 
     /**
-     * Retrieves all products.
-     * @return ResponseEntity containing a list of ProductResponse objects
+     * Retrieves one filtered keyset page of products.
+     * Filters run as indexed SQL and the page is streamed from the database cursor
+     * straight into the JSON writer. Its ETag is the catalog version, so an unchanged
+     * catalog is answered with 304 Not Modified without reading any product rows.
+     * Stock changes are not catalog changes, so a revalidated page keeps the stock
+     * the client already has; GET /{id} always carries the current stock in its ETag.
+     * @param minPrice Lowest price to include
+     * @param maxPrice Highest price to include
+     * @param categoryId Only products of this category
+     * @param sort Order of the listing: id (default), price_asc or price_desc
+     * @param facets Whether to include per-category and per-price-range counts
+     * @param limit Page size, bounded to JsonPageWriter.MAX_LIMIT
+     * @param after Opaque cursor taken from the previous page's nextCursor
+     * @param request The current request, used to evaluate If-None-Match
+     * @return ResponseEntity streaming {"items":[...],"nextCursor":...,"limit":n[,"facets":{...}]}
      */
     @GetMapping
-    public ResponseEntity<List<ProductResponse>> findAll() {
-        return handleRequest(() -> 
-            productService.findAll().stream()
+    public ResponseEntity<StreamingResponseBody> findAll(
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "false") boolean facets,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after,
+            WebRequest request) {
+        return handleConditionalStreamRequest(request, MediaType.APPLICATION_JSON,
+                () -> etag("products", productService.catalogVersion()), () -> {
+            if (minPrice != null && maxPrice != null && minPrice > maxPrice) {
+                throw new HandlerException("El precio mínimo no puede superar al máximo", "VALIDATION_ERROR");
+            }
+            int pageSize = JsonPageWriter.resolveLimit(limit);
+            ProductQuery query = ProductCursor.decode(
+                    new ProductQuery(minPrice, maxPrice, categoryId, ProductSort.fromParam(sort), null, null), after);
+            Map<String, ProductFacets> extraFields = facets
+                    ? Map.of("facets", productService.facets(query))
+                    : Map.of();
+            return JsonPageWriter.stream(objectMapper, pageSize,
+                    consumer -> productService.streamPage(query, pageSize + 1, consumer),
+                    productMapper::toResponse,
+                    product -> ProductCursor.encode(query.sort(), product),
+                    extraFields);
+        });
+    }
+
+    /**
+     * Searches products by name, description and category name, ignoring accents and case.
+     * @param q The search text
+     * @param limit Maximum number of results, bounded to MAX_SEARCH_LIMIT
+     * @return ResponseEntity containing the matching products, most relevant first
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<ProductResponse>> search(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit) {
+        return handleRequest(() -> {
+            if (q.isBlank()) {
+                throw new HandlerException("El texto de búsqueda es requerido", "VALIDATION_ERROR");
+            }
+            int maxResults = limit == null ? DEFAULT_SEARCH_LIMIT : Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT));
+            return productService.search(q, maxResults).stream()
                 .map(productMapper::toResponse)
-                .collect(Collectors.toList())
-        );
+                .collect(Collectors.toList());
+        });
+    }
+
+    /**
+     * Exports every product as NDJSON or CSV.
+     * Rows are streamed from the database straight to the response in constant memory.
+     * @param format Output format: ndjson (default) or csv
+     * @param gzip Whether to gzip the file
+     * @return ResponseEntity streaming the export as a file download
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(required = false) String format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        ExportFormat exportFormat = ExportFormat.fromParam(format);
+        return handleExportRequest("products", exportFormat, gzip,
+                () -> ExportWriter.stream(objectMapper, exportFormat, gzip,
+                        ProductMapper.EXPORT_COLUMNS, productService::streamAll));
     }
 
     /**
      * Retrieves a specific product by ID.
+     * The ETag is the product version and stock; a matching If-None-Match is
+     * answered with 304 Not Modified, usually straight from the read cache.
      * @param id The ID of the product to retrieve
+     * @param request The current request, used to evaluate If-None-Match
      * @return ResponseEntity containing the ProductResponse object
      */
     @GetMapping("/{id}")
-    public ResponseEntity<ProductResponse> findById(@PathVariable Long id) {
-        return handleRequest(() -> 
-            productMapper.toResponse(productService.findById(id))
+    public ResponseEntity<ProductResponse> findById(@PathVariable Long id, WebRequest request) {
+        return handleConditionalRequest(request,
+            () -> productService.findById(id),
+            ProductController::etagOf,
+            productMapper::toResponse
         );
     }
 
     /**
      * Creates a new product.
+     * With an Idempotency-Key header, a retry of the same request returns the
+     * stored response instead of creating the product again.
      * @param request The ProductRequest containing the product data
+     * @param idempotencyKey Optional client generated key identifying the request
+     * @param principal The authenticated user, who owns the idempotency key
      * @return ResponseEntity containing the created ProductResponse
      */
     @PostMapping
-    public ResponseEntity<ProductResponse> save(@Valid @RequestBody ProductRequest request) {
+    public ResponseEntity<ProductResponse> save(@Valid @RequestBody ProductRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            Principal principal) {
+        return handleIdempotentRequest(idempotencyStore, "products", principal, idempotencyKey, request,
+            ProductResponse.class,
+            () -> productService.save(productMapper.toEntity(request)),
+            ProductController::etagOf,
+            productMapper::toResponse
+        );
+    }
+
+    /**
+     * Creates many products at once.
+     * Accepts a JSON array or an NDJSON stream of ProductRequest objects, which the
+     * service parses and stores incrementally in chunks.
+     * @param request The raw HTTP request whose body holds the products
+     * @return ResponseEntity containing counters and the outcome of every row
+     */
+    @PostMapping(value = "/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public ResponseEntity<ProductBulkImportResponse> bulkImport(HttpServletRequest request) {
         return handleRequest(() -> {
-            Product product = productMapper.toEntity(request);
-            return productMapper.toResponse(productService.save(product));
+            try {
+                return productService.bulkImport(request.getInputStream());
+            } catch (IOException e) {
+                throw new HandlerException("Error al leer la importación: " + e.getMessage(), "VALIDATION_ERROR");
+            }
         });
     }
 
     /**
      * Updates an existing product.
+     * When If-Match is sent, the update only applies if it matches the stored
+     * version; otherwise 412 Precondition Failed is returned.
      * @param request The ProductRequest containing the updated product data
      * @param id The ID of the product to update
+     * @param ifMatch Optional ETag of the version the client last read
      * @return ResponseEntity containing the updated ProductResponse
      */
     @PutMapping("/{id}")
     public ResponseEntity<ProductResponse> update(
             @Valid @RequestBody ProductRequest request, 
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return handleVersionedRequest(() -> {
+                Product product = productMapper.toEntity(request);
+                product.setVersion(versionFromIfMatch(ifMatch));
+                return productService.update(product, id);
+            },
+            ProductController::etagOf,
+            productMapper::toResponse
+        );
+    }
+
+    /**
+     * Adds units to or removes units from a product's stock.
+     * The change is a single conditional UPDATE; removing more units than are
+     * left is answered with 409 Conflict.
+     * @param request The StockAdjustmentRequest with the units to add or remove
+     * @param id The ID of the product
+     * @return ResponseEntity containing the ProductResponse with its current stock
+     */
+    @PostMapping("/{id}/stock")
+    public ResponseEntity<ProductResponse> adjustStock(
+            @Valid @RequestBody StockAdjustmentRequest request,
             @PathVariable Long id) {
-        return handleRequest(() -> {
-            Product product = productService.findById(id);
-            productMapper.updateEntityFromRequest(product, request);
-            return productMapper.toResponse(productService.update(product, id));
-        });
+        return handleRequest(() -> productMapper.toResponse(productService.adjustStock(id, request.getDelta())));
     }
 
     /**
@@ -93,4 +244,9 @@ public class ProductController extends BaseController {
     public ResponseEntity<Void> deleteById(@PathVariable Long id) {
         return handleVoidRequest(() -> productService.deleteById(id));
     }
-} 
\ No newline at end of file
+
+    // Stock changes do not bump the version, so they are part of the ETag
+    private static String etagOf(Product product) {
+        return etag("v", product.getVersion(), "s", product.getStock());
+    }
+}
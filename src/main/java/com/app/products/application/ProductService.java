@@ -1,27 +1,97 @@
 package com.app.products.application;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.app.shared.application.exception.HandlerException;
 import com.app.products.domain.IProductService;
 import com.app.products.domain.Product;
+import com.app.products.domain.ProductBulkImportResponse;
+import com.app.products.domain.ProductFacets;
+import com.app.products.domain.ProductImportResult;
+import com.app.products.domain.ProductQuery;
 import com.app.products.infrastructure.ProductDatasource;
+import com.app.products.infrastructure.dto.ProductRequest;
+import com.app.products.infrastructure.mapper.ProductMapper;
 
-import lombok.RequiredArgsConstructor;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 
 @Service
-@RequiredArgsConstructor
 public class ProductService implements IProductService {
 
+    private static final int IMPORT_CHUNK_SIZE = 500;
+    private static final String DUPLICATE_NAME = "Ya existe un producto con el nombre: ";
+
     private final ProductDatasource productDatasource;
+    private final ProductMapper productMapper;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+
+    public ProductService(ProductDatasource productDatasource, ProductMapper productMapper,
+            ObjectMapper objectMapper, Validator validator, PlatformTransactionManager transactionManager) {
+        this.productDatasource = productDatasource;
+        this.productMapper = productMapper;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
 
     @Override
     public List<Product> findAll() {
         return productDatasource.findAll();
     }
 
+    @Override
+    public void streamPage(ProductQuery query, int limit, Consumer<Product> consumer) {
+        productDatasource.streamPage(query, limit, consumer);
+    }
+
+    @Override
+    public void streamAll(Consumer<Product> consumer) {
+        productDatasource.streamAll(consumer);
+    }
+
+    @Override
+    public ProductFacets facets(ProductQuery query) {
+        return productDatasource.facets(query);
+    }
+
+    @Override
+    public List<Product> search(String query, int limit) {
+        return productDatasource.search(query, limit);
+    }
+
+    /**
+     * Loads the full-text search index once the application has started.
+     * Later writes keep it up to date incrementally.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildSearchIndex() {
+        productDatasource.rebuildSearchIndex();
+    }
+
+    @Override
+    public long catalogVersion() {
+        return productDatasource.catalogVersion();
+    }
+
     @Override
     public Product findById(Long id) {
         return productDatasource.findById(id);
@@ -33,12 +103,89 @@ public class ProductService implements IProductService {
         return productDatasource.save(product);
     }
 
+    @Override
+    public ProductBulkImportResponse bulkImport(InputStream body) {
+        ProductBulkImportResponse response = new ProductBulkImportResponse();
+        List<Product> chunk = new ArrayList<>(IMPORT_CHUNK_SIZE);
+        List<Integer> chunkIndexes = new ArrayList<>(IMPORT_CHUNK_SIZE);
+        int index = 0;
+        try (MappingIterator<ProductRequest> rows = objectMapper.readerFor(ProductRequest.class).readValues(body)) {
+            while (rows.hasNextValue()) {
+                ProductRequest row = rows.nextValue();
+                Set<ConstraintViolation<ProductRequest>> violations = validator.validate(row);
+                if (!violations.isEmpty()) {
+                    response.add(new ProductImportResult(index++, ProductImportResult.INVALID, null,
+                            violations.iterator().next().getMessage()));
+                    continue;
+                }
+                chunk.add(productMapper.toEntity(row));
+                chunkIndexes.add(index++);
+                if (chunk.size() == IMPORT_CHUNK_SIZE) {
+                    importChunk(chunk, chunkIndexes, response);
+                }
+            }
+        } catch (JsonProcessingException e) {
+            response.add(new ProductImportResult(index, ProductImportResult.INVALID, null,
+                    "JSON inválido: " + e.getOriginalMessage()));
+        } catch (IOException e) {
+            throw new HandlerException("Error al leer la importación: " + e.getMessage(), "VALIDATION_ERROR");
+        }
+        importChunk(chunk, chunkIndexes, response);
+        response.getResults().sort((a, b) -> Integer.compare(a.getIndex(), b.getIndex()));
+        return response;
+    }
+
+    // One transaction for the whole chunk; if it fails, for instance because a concurrent
+    // import took one of the names first, each row is retried on its own so only that row
+    // is rejected
+    private void importChunk(List<Product> chunk, List<Integer> chunkIndexes, ProductBulkImportResponse response) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            List<Product> saved = transactionTemplate.execute(status -> productDatasource.saveAll(chunk));
+            for (int i = 0; i < saved.size(); i++) {
+                response.add(resultOf(chunkIndexes.get(i), saved.get(i)));
+            }
+        } catch (HandlerException chunkError) {
+            for (int i = 0; i < chunk.size(); i++) {
+                Product product = chunk.get(i);
+                try {
+                    response.add(resultOf(chunkIndexes.get(i),
+                            transactionTemplate.execute(status -> productDatasource.saveAll(List.of(product)).get(0))));
+                } catch (HandlerException e) {
+                    if ("DATABASE_ERROR".equals(e.getErrorCode())) {
+                        throw e;
+                    }
+                    response.add(new ProductImportResult(chunkIndexes.get(i),
+                            "CONFLICT".equals(e.getErrorCode()) ? ProductImportResult.DUPLICATE : ProductImportResult.INVALID,
+                            null, e.getMessage()));
+                }
+            }
+        } finally {
+            chunk.clear();
+            chunkIndexes.clear();
+        }
+    }
+
+    private static ProductImportResult resultOf(int index, Product product) {
+        return product.getId() != null
+                ? new ProductImportResult(index, ProductImportResult.CREATED, product.getId(), null)
+                : new ProductImportResult(index, ProductImportResult.DUPLICATE, null, DUPLICATE_NAME + product.getName());
+    }
+
     @Override
     @Transactional
     public Product update(Product product, Long id) {
         return productDatasource.update(product, id);
     }
 
+    @Override
+    @Transactional
+    public Product adjustStock(Long id, int delta) {
+        return productDatasource.adjustStock(id, delta);
+    }
+
     @Override
     @Transactional
     public void deleteById(Long id) {
@@ -1,6 +1,11 @@
 package com.app.products.domain;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -16,4 +21,12 @@ public interface IProductRepository extends JpaRepository<Product, Long> {
      * @return true if a product with the given name exists, false otherwise
      */
     boolean existsByName(String name);
+
+    /**
+     * Returns which of the given names are already used, in a single query.
+     * @param names The product names to check
+     * @return The stored names that match any of the given names
+     */
+    @Query("select p.name from Product p where p.name in :names")
+    List<String> findExistingNames(@Param("names") Collection<String> names);
 } 
\ No newline at end of file
@@ -1,6 +1,8 @@
 package com.app.products.domain;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Product Service Interface
@@ -14,6 +16,44 @@ public interface IProductService {
      */
     List<Product> findAll();
 
+    /**
+     * Streams one filtered keyset page of products.
+     * @param query Filters, order and position of the page
+     * @param limit Maximum number of products to stream
+     * @param consumer Receives each product in the query's order
+     */
+    void streamPage(ProductQuery query, int limit, Consumer<Product> consumer);
+
+    /**
+     * Streams every product in id order, for exports.
+     * @param consumer Receives each product
+     */
+    void streamAll(Consumer<Product> consumer);
+
+    /**
+     * Counts the products matching the query's filters per category and price range.
+     * @param query Filters of the listing
+     * @return The facet counts
+     */
+    ProductFacets facets(ProductQuery query);
+
+    /**
+     * Searches products by name, description and category name.
+     * @param query Free text query; accents and case are ignored
+     * @param limit Maximum number of results
+     * @return The best matching products, most relevant first
+     */
+    List<Product> search(String query, int limit);
+
+    /**
+     * Returns the catalog-wide change counter.
+     * Any product or category write increments it, so it can serve as the ETag
+     * of catalog collections without reading any rows. Stock reservations and
+     * releases do not, so order traffic does not invalidate catalog listings.
+     * @return The current catalog version
+     */
+    long catalogVersion();
+
     /**
      * Retrieves a specific product by its ID.
      * @param id The product ID to search for
@@ -30,6 +70,17 @@ public interface IProductService {
      */
     Product save(Product product);
 
+    /**
+     * Creates many products from a JSON array or an NDJSON stream of product requests.
+     * Rows are parsed and validated incrementally and stored in chunks, each chunk with
+     * one name lookup and one batched insert in its own transaction. A row whose name is
+     * already taken, even by a concurrent import, is reported as DUPLICATE.
+     * @param body The request body holding the products
+     * @return Counters and the outcome of every row, in request order
+     * @throws HandlerException if the body cannot be read or there's a database error
+     */
+    ProductBulkImportResponse bulkImport(InputStream body);
+
     /**
      * Updates an existing product.
      * @param product The product data to update
@@ -39,6 +90,15 @@ public interface IProductService {
      */
     Product update(Product product, Long id);
 
+    /**
+     * Adds units to or removes units from a product's stock.
+     * @param id The ID of the product
+     * @param delta Units to add, or to remove when negative
+     * @return The product with its current stock
+     * @throws HandlerException if the product is not found or the stock would go below zero
+     */
+    Product adjustStock(Long id, int delta);
+
     /**
      * Deletes a product from the system.
      * @param id The ID of the product to delete
@@ -1,9 +1,16 @@
 package com.app.products.domain;
 
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
+
+import com.app.categories.domain.Category;
+
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import lombok.ToString;
 
 /**
  * Product Entity
@@ -11,7 +18,14 @@ import lombok.AllArgsConstructor;
  * This class is mapped to the 'products' table in the database.
  */
 @Entity
-@Table(name = "products")
+@Table(name = "products", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_products_name", columnNames = "name")
+}, indexes = {
+    @Index(name = "idx_products_price", columnList = "price"),
+    @Index(name = "idx_products_category", columnList = "category_id"),
+    @Index(name = "idx_products_category_price", columnList = "category_id, price")
+})
+@BatchSize(size = 50)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -26,7 +40,7 @@ public class Product {
 
     /**
      * Name of the product.
-     * Cannot be null.
+     * Cannot be null and is unique.
      */
     @Column(nullable = false)
     private String name;
@@ -44,4 +58,48 @@ public class Product {
      */
     @Column(nullable = false)
     private Double price;
-} 
\ No newline at end of file
+
+    /**
+     * Units available for new orders.
+     * Written on insert only; afterwards it is changed exclusively by
+     * conditional set-based updates, never by read-modify-write of the entity.
+     */
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private Integer stock = 0;
+
+    /**
+     * Category the product belongs to.
+     * Loaded lazily, in batches, and may be null for uncategorized products.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Category category;
+
+    /**
+     * Optimistic lock version, incremented on every update.
+     * Exposed to clients as the product's ETag.
+     */
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    /**
+     * Creates a detached copy of this product.
+     * Used by the read cache so cached instances are never shared with callers.
+     * @return A new Product with the same field values
+     */
+    public Product copy() {
+        return new Product(id, name, description, price, stock, Category.ofId(getCategoryId()), version);
+    }
+
+    /**
+     * Returns the ID of the product's category without initializing it.
+     * @return The category ID, or null for uncategorized products
+     */
+    public Long getCategoryId() {
+        return category == null ? null : category.getId();
+    }
+}
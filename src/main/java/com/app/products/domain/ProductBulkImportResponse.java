@@ -0,0 +1,41 @@
+package com.app.products.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+
+/**
+ * Product Bulk Import Response
+ * Summary and per-row results of a bulk product import.
+ */
+@Data
+public class ProductBulkImportResponse {
+    /**
+     * Number of products created.
+     */
+    private int created;
+
+    /**
+     * Number of rows rejected as duplicate or invalid.
+     */
+    private int rejected;
+
+    /**
+     * Outcome of every row, in request order.
+     */
+    private List<ProductImportResult> results = new ArrayList<>();
+
+    /**
+     * Records the outcome of one row and updates the counters.
+     * @param result The row outcome
+     */
+    public void add(ProductImportResult result) {
+        if (ProductImportResult.CREATED.equals(result.getStatus())) {
+            created++;
+        } else {
+            rejected++;
+        }
+        results.add(result);
+    }
+}
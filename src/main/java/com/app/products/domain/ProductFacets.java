@@ -0,0 +1,30 @@
+package com.app.products.domain;
+
+import java.util.List;
+
+/**
+ * Product Facets
+ * Counts of the products matching a listing's filters, broken down by category
+ * and by price range. Each breakdown ignores its own filter, so clients can
+ * show how many products every alternative choice would return.
+ *
+ * @param categories Product count per category; a null categoryId counts uncategorized products
+ * @param prices     Product count per price range
+ */
+public record ProductFacets(List<CategoryCount> categories, List<PriceRangeCount> prices) {
+
+    /**
+     * @param categoryId The category, null for products without one
+     * @param count      Number of matching products
+     */
+    public record CategoryCount(Long categoryId, long count) {
+    }
+
+    /**
+     * @param from  Inclusive lower bound, null for the first range
+     * @param to    Exclusive upper bound, null for the last range
+     * @param count Number of matching products
+     */
+    public record PriceRangeCount(Double from, Double to, long count) {
+    }
+}
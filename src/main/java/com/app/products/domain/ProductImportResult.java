@@ -0,0 +1,38 @@
+package com.app.products.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Product Import Result
+ * Outcome of a single row of a bulk product import.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImportResult {
+    public static final String CREATED = "CREATED";
+    public static final String DUPLICATE = "DUPLICATE";
+    public static final String INVALID = "INVALID";
+
+    /**
+     * Zero-based position of the row in the request body.
+     */
+    private int index;
+
+    /**
+     * Outcome of the row: CREATED, DUPLICATE or INVALID.
+     */
+    private String status;
+
+    /**
+     * ID of the created product, null when the row was not created.
+     */
+    private Long id;
+
+    /**
+     * Reason the row was rejected, null when it was created.
+     */
+    private String message;
+}
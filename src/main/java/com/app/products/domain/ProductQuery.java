@@ -0,0 +1,39 @@
+package com.app.products.domain;
+
+/**
+ * Product Query
+ * Filters, sort order and keyset position of a product listing page.
+ * Null filter values are ignored; null after values request the first page.
+ *
+ * @param minPrice   Lowest price to include
+ * @param maxPrice   Highest price to include
+ * @param categoryId Only products of this category
+ * @param sort       Order of the listing
+ * @param afterPrice Price of the last row of the previous page (price sorts only)
+ * @param afterId    ID of the last row of the previous page
+ */
+public record ProductQuery(
+    Double minPrice,
+    Double maxPrice,
+    Long categoryId,
+    ProductSort sort,
+    Double afterPrice,
+    Long afterId
+) {
+    /**
+     * Query for every product, in id order.
+     * @return The unfiltered first-page query
+     */
+    public static ProductQuery all() {
+        return new ProductQuery(null, null, null, ProductSort.ID, null, null);
+    }
+
+    /**
+     * Same filters and order, positioned after the given product.
+     * @param last The last product of the current page
+     * @return The query for the next page
+     */
+    public ProductQuery after(Product last) {
+        return new ProductQuery(minPrice, maxPrice, categoryId, sort, last.getPrice(), last.getId());
+    }
+}
@@ -0,0 +1,42 @@
+package com.app.products.domain;
+
+import com.app.shared.application.exception.HandlerException;
+
+/**
+ * Product Sort
+ * Orders supported by the product listing. Every order ends with the id so
+ * that keyset pagination has a unique, stable position to seek from.
+ */
+public enum ProductSort {
+    ID("id"),
+    PRICE_ASC("price_asc"),
+    PRICE_DESC("price_desc");
+
+    private final String param;
+
+    ProductSort(String param) {
+        this.param = param;
+    }
+
+    public String getParam() {
+        return param;
+    }
+
+    /**
+     * Resolves the sort from its request parameter value.
+     * @param param The value of the sort parameter, may be null
+     * @return The matching sort, ID when no value was given
+     * @throws HandlerException if the value is not a supported sort
+     */
+    public static ProductSort fromParam(String param) {
+        if (param == null || param.isBlank()) {
+            return ID;
+        }
+        for (ProductSort sort : values()) {
+            if (sort.param.equalsIgnoreCase(param)) {
+                return sort;
+            }
+        }
+        throw new HandlerException("Orden no soportado: " + param, "VALIDATION_ERROR");
+    }
+}
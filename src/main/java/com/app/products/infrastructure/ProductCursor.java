@@ -0,0 +1,58 @@
+package com.app.products.infrastructure;
+
+import com.app.shared.application.exception.HandlerException;
+import com.app.shared.infrastructure.pagination.PageCursor;
+import com.app.products.domain.Product;
+import com.app.products.domain.ProductQuery;
+import com.app.products.domain.ProductSort;
+
+/**
+ * Product Cursor
+ * Encodes and decodes the opaque keyset cursors of product listings.
+ * The id order only needs the last ID; price orders also carry the last price
+ * and the sort they were issued for.
+ */
+public final class ProductCursor {
+
+    private ProductCursor() {
+    }
+
+    /**
+     * Builds the cursor pointing after the given product.
+     * @param sort Order of the listing
+     * @param last The last product of the current page
+     * @return The opaque cursor
+     */
+    public static String encode(ProductSort sort, Product last) {
+        return sort == ProductSort.ID
+                ? PageCursor.encode(last.getId())
+                : PageCursor.encode(sort.getParam(), last.getPrice(), last.getId());
+    }
+
+    /**
+     * Positions a query after the row a cursor points to.
+     * @param query The first-page query
+     * @param after Opaque cursor from a previous page, or null for the first page
+     * @return The positioned query
+     * @throws HandlerException if the cursor is malformed or was issued for another order
+     */
+    public static ProductQuery decode(ProductQuery query, String after) {
+        if (after == null || after.isBlank()) {
+            return query;
+        }
+        if (query.sort() == ProductSort.ID) {
+            return new ProductQuery(query.minPrice(), query.maxPrice(), query.categoryId(), query.sort(),
+                    null, PageCursor.decodeId(after));
+        }
+        String[] parts = PageCursor.decode(after, 3);
+        if (!query.sort().getParam().equals(parts[0])) {
+            throw new HandlerException("El cursor no corresponde al orden solicitado", "VALIDATION_ERROR");
+        }
+        try {
+            return new ProductQuery(query.minPrice(), query.maxPrice(), query.categoryId(), query.sort(),
+                    Double.valueOf(parts[1]), Long.valueOf(parts[2]));
+        } catch (NumberFormatException e) {
+            throw new HandlerException("Cursor inválido: " + after, "VALIDATION_ERROR");
+        }
+    }
+}
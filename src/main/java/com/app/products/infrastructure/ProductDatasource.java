@@ -1,12 +1,45 @@
 package com.app.products.infrastructure;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
 
 import com.app.shared.application.exception.HandlerException;
+import com.app.shared.infrastructure.cache.CacheFactory;
+import com.app.shared.infrastructure.cache.EntityCache;
+import com.app.shared.infrastructure.export.StreamingQuery;
+import com.app.shared.infrastructure.transaction.AfterTransaction;
+import com.app.shared.infrastructure.version.ChangeCounters;
+import com.app.categories.domain.Category;
+import com.app.categories.infrastructure.CategoryDatasource;
 import com.app.products.domain.IProductRepository;
 import com.app.products.domain.Product;
+import com.app.products.domain.ProductFacets;
+import com.app.products.domain.ProductQuery;
+import com.app.products.infrastructure.search.ProductSearchIndex;
+import com.app.products.infrastructure.stock.StripedStockReservations;
 
 /**
  * Product Datasource
@@ -23,30 +56,250 @@ public class ProductDatasource {
     private static final String ERROR_DELETING = "Error al eliminar producto: ";
     private static final String ERROR_FINDING = "Error al obtener productos: ";
     private static final String ERROR_FINDING_BY_ID = "Error al obtener producto por ID: ";
+    private static final String VERSION_MISMATCH = "El producto fue modificado por otra petición, versión actual: ";
+    private static final String PRODUCT_IN_USE = "El producto tiene pedidos asociados: ";
+    private static final String INSUFFICIENT_STOCK = "Stock insuficiente para el producto: ";
+    private static final String ERROR_STOCK = "Error al actualizar el stock: ";
+    private static final String DUPLICATE_NAME = "Ya existe un producto con el nombre: ";
+
+    // Reservations are conditional so stock never goes negative and is never read into Java first
+    private static final String RESERVE_STOCK = "UPDATE products SET stock = stock - ? WHERE id = ? AND stock >= ?";
+    private static final String RELEASE_STOCK = "UPDATE products SET stock = stock + ? WHERE id = ?";
+
+    // Stock changes with every order, so it is kept out of the catalog version and the
+    // cached copies and re-read with one narrow query whenever they are served
+    private static final String SELECT_STOCK = "SELECT id, stock FROM products";
+
+    // Keyset page queries seek past the last row instead of scanning an OFFSET
+    private static final String SELECT_COLUMNS =
+            "SELECT id, name, description, price, stock, category_id, version FROM products";
+
+    // Upper bounds of the price facet ranges; the last range is open ended
+    private static final double[] PRICE_BUCKET_BOUNDS = { 5_000, 20_000, 50_000, 100_000, 500_000 };
+
+    // Batched insert; the driver rewrites the batch into multi-row INSERTs (rewriteBatchedStatements)
+    private static final String INSERT_PRODUCT =
+            "INSERT INTO products (name, description, price, stock, category_id, version) VALUES (?, ?, ?, ?, ?, 0)";
+
+    // Key of the single cache entry holding the full product list
+    private static final String ALL_PRODUCTS = "all";
+
+    // Page size used when loading the whole table into the search index
+    private static final int INDEX_PAGE_SIZE = 1000;
 
     private final IProductRepository productRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityCache<Long, Product> productCache;
+    private final EntityCache<String, List<Product>> productListCache;
+    private final ProductSearchIndex searchIndex;
+    private final ChangeCounters changeCounters;
+    private final CategoryDatasource categoryDatasource;
+    private final StripedStockReservations hotStock;
 
     /**
      * Constructor for dependency injection of the product repository.
      * @param productRepository The repository to use for database operations
+     * @param jdbcTemplate The template used for streaming read queries
+     * @param cacheFactory Factory for the read-through product caches
+     * @param searchIndex The in-process full-text index kept in sync with writes
+     * @param changeCounters The catalog-wide change counter bumped on every write
+     * @param categoryDatasource Keeps the per-category product counts up to date
+     * @param hotStock In-memory reservation counters for the hottest products
      */
-    public ProductDatasource(IProductRepository productRepository) {
+    public ProductDatasource(IProductRepository productRepository, JdbcTemplate jdbcTemplate,
+            CacheFactory cacheFactory, ProductSearchIndex searchIndex, ChangeCounters changeCounters,
+            CategoryDatasource categoryDatasource, StripedStockReservations hotStock) {
         this.productRepository = productRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.productCache = cacheFactory.create("products", Product::copy);
+        this.productListCache = cacheFactory.create("products.all",
+                products -> products.stream().map(Product::copy).collect(Collectors.toList()));
+        this.searchIndex = searchIndex;
+        this.changeCounters = changeCounters;
+        this.categoryDatasource = categoryDatasource;
+        this.hotStock = hotStock;
+    }
+
+    /**
+     * Returns the catalog-wide change counter, used as the collection ETag.
+     * @return The number of catalog writes committed so far
+     * @throws HandlerException if there's an error accessing the database
+     */
+    public long catalogVersion() {
+        return changeCounters.current(ChangeCounters.CATALOG);
     }
 
     /**
      * Retrieves all products from the database.
+     * The list is cached; only the stock is read from the table on every call.
      * @return List of all products
      * @throws HandlerException if there's an error accessing the database
      */
     public List<Product> findAll() {
         try {
-            return productRepository.findAll();
+            return withCurrentStock(productListCache.get(ALL_PRODUCTS, key -> productRepository.findAll()), null);
+        } catch (Exception e) {
+            throw new HandlerException(ERROR_FINDING + e.getMessage(), "DATABASE_ERROR");
+        }
+    }
+
+    /**
+     * Streams one filtered keyset page of products.
+     * Filters and the seek predicate are pushed down to SQL so they are served by
+     * the price and category indexes. Rows are handed to the consumer as they are
+     * read and are never collected into a list or attached to the persistence context.
+     * @param query Filters, order and position of the page
+     * @param limit Maximum number of rows to read
+     * @param consumer Receives each product in the query's order
+     * @throws HandlerException if there's an error accessing the database
+     */
+    public void streamPage(ProductQuery query, int limit, Consumer<Product> consumer) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+        addPriceFilter(query, conditions, params);
+        addCategoryFilter(query, conditions, params);
+
+        String orderBy;
+        switch (query.sort()) {
+            case PRICE_ASC -> {
+                if (query.afterId() != null) {
+                    conditions.add("price >= ? AND (price > ? OR id > ?)");
+                    Collections.addAll(params, query.afterPrice(), query.afterPrice(), query.afterId());
+                }
+                orderBy = " ORDER BY price, id";
+            }
+            case PRICE_DESC -> {
+                if (query.afterId() != null) {
+                    conditions.add("price <= ? AND (price < ? OR id < ?)");
+                    Collections.addAll(params, query.afterPrice(), query.afterPrice(), query.afterId());
+                }
+                orderBy = " ORDER BY price DESC, id DESC";
+            }
+            default -> {
+                if (query.afterId() != null) {
+                    conditions.add("id > ?");
+                    params.add(query.afterId());
+                }
+                orderBy = " ORDER BY id";
+            }
+        }
+        params.add(limit);
+
+        try {
+            jdbcTemplate.query(SELECT_COLUMNS + where(conditions) + orderBy + " LIMIT ?",
+                    (RowCallbackHandler) rs -> consumer.accept(mapRow(rs)), params.toArray());
+        } catch (DataAccessException e) {
+            throw new HandlerException(ERROR_FINDING + e.getMessage(), "DATABASE_ERROR");
+        }
+    }
+
+    /**
+     * Streams every product in id order from a forward-only result set.
+     * Rows are handed to the consumer one at a time as the server sends them.
+     * @param consumer Receives each product
+     * @throws HandlerException if there's an error accessing the database
+     */
+    public void streamAll(Consumer<Product> consumer) {
+        try {
+            jdbcTemplate.query(StreamingQuery.of(SELECT_COLUMNS + " ORDER BY id"),
+                    (RowCallbackHandler) rs -> consumer.accept(mapRow(rs)));
+        } catch (DataAccessException e) {
+            throw new HandlerException(ERROR_FINDING + e.getMessage(), "DATABASE_ERROR");
+        }
+    }
+
+    /**
+     * Counts the products matching a query per category and per price range,
+     * aggregated by the database in a single round trip. The category breakdown
+     * ignores the category filter and the price breakdown ignores the price filter.
+     * @param query Filters of the listing; sort and position are ignored
+     * @return The facet counts
+     * @throws HandlerException if there's an error accessing the database
+     */
+    public ProductFacets facets(ProductQuery query) {
+        List<String> categoryConditions = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+        addPriceFilter(query, categoryConditions, params);
+        List<String> priceConditions = new ArrayList<>();
+        addCategoryFilter(query, priceConditions, params);
+
+        StringBuilder bucket = new StringBuilder("CASE");
+        for (int i = 0; i < PRICE_BUCKET_BOUNDS.length; i++) {
+            bucket.append(" WHEN price < ").append(PRICE_BUCKET_BOUNDS[i]).append(" THEN ").append(i);
+        }
+        bucket.append(" ELSE ").append(PRICE_BUCKET_BOUNDS.length).append(" END");
+
+        String sql = "SELECT 'category' AS facet, category_id AS bucket, COUNT(*) AS total FROM products"
+                + where(categoryConditions) + " GROUP BY category_id"
+                + " UNION ALL"
+                + " SELECT 'price' AS facet, " + bucket + " AS bucket, COUNT(*) AS total FROM products"
+                + where(priceConditions) + " GROUP BY bucket";
+
+        List<ProductFacets.CategoryCount> categories = new ArrayList<>();
+        long[] priceCounts = new long[PRICE_BUCKET_BOUNDS.length + 1];
+        try {
+            jdbcTemplate.query(sql, (RowCallbackHandler) rs -> {
+                long bucketValue = rs.getLong("bucket");
+                boolean noBucket = rs.wasNull();
+                if ("category".equals(rs.getString("facet"))) {
+                    categories.add(new ProductFacets.CategoryCount(noBucket ? null : bucketValue, rs.getLong("total")));
+                } else {
+                    priceCounts[(int) bucketValue] = rs.getLong("total");
+                }
+            }, params.toArray());
+        } catch (DataAccessException e) {
+            throw new HandlerException(ERROR_FINDING + e.getMessage(), "DATABASE_ERROR");
+        }
+
+        List<ProductFacets.PriceRangeCount> prices = new ArrayList<>(priceCounts.length);
+        for (int i = 0; i < priceCounts.length; i++) {
+            Double from = i == 0 ? null : PRICE_BUCKET_BOUNDS[i - 1];
+            Double to = i == PRICE_BUCKET_BOUNDS.length ? null : PRICE_BUCKET_BOUNDS[i];
+            prices.add(new ProductFacets.PriceRangeCount(from, to, priceCounts[i]));
+        }
+        return new ProductFacets(categories, prices);
+    }
+
+    /**
+     * Searches products by name, description and category name using the in-process index.
+     * The index is not touched by stock changes, so the stock of the hits is read from the table.
+     * @param query Free text query; accents and case are ignored
+     * @param limit Maximum number of results
+     * @return The best matching products, most relevant first
+     * @throws HandlerException if there's an error accessing the database
+     */
+    public List<Product> search(String query, int limit) {
+        List<Product> hits = searchIndex.search(query, limit);
+        if (hits.isEmpty()) {
+            return hits;
+        }
+        try {
+            return withCurrentStock(hits, hits.stream().map(Product::getId).toList());
         } catch (Exception e) {
             throw new HandlerException(ERROR_FINDING + e.getMessage(), "DATABASE_ERROR");
         }
     }
 
+    /**
+     * Rebuilds the search index from the categories and products tables, one
+     * keyset page of products at a time.
+     * @throws HandlerException if there's an error accessing the database
+     */
+    public void rebuildSearchIndex() {
+        searchIndex.clear();
+        categoryDatasource.streamAll(category -> searchIndex.putCategory(category.getId(), category.getName()));
+        ProductQuery[] page = { ProductQuery.all() };
+        int[] read = { 0 };
+        do {
+            read[0] = 0;
+            streamPage(page[0], INDEX_PAGE_SIZE, product -> {
+                searchIndex.index(product);
+                page[0] = page[0].after(product);
+                read[0]++;
+            });
+        } while (read[0] == INDEX_PAGE_SIZE);
+    }
+
     /**
      * Retrieves a specific product by its ID.
      * @param id The product ID to search for
@@ -55,8 +308,8 @@ public class ProductDatasource {
      */
     public Product findById(Long id) {
         try {
-            return productRepository.findById(id)
-                    .orElseThrow(() -> new HandlerException(PRODUCT_NOT_FOUND + id, "NOT_FOUND"));
+            return productCache.get(id, key -> productRepository.findById(key)
+                    .orElseThrow(() -> new HandlerException(PRODUCT_NOT_FOUND + key, "NOT_FOUND")));
         } catch (HandlerException e) {
             throw e;
         } catch (Exception e) {
@@ -73,11 +326,95 @@ public class ProductDatasource {
     public Product save(Product product) {
         try {
             if (productRepository.existsByName(product.getName())) {
-                throw new HandlerException("Ya existe un producto con el nombre: " + product.getName(), "VALIDATION_ERROR");
+                throw new HandlerException(DUPLICATE_NAME + product.getName(), "VALIDATION_ERROR");
             }
-            return productRepository.save(product);
+            Long categoryId = product.getCategoryId();
+            categoryDatasource.adjustProductCounts(countDelta(categoryId, 1));
+            product.setCategory(categoryDatasource.reference(categoryId));
+            Product saved = productRepository.save(product);
+            changeCounters.increment(ChangeCounters.CATALOG);
+            productListCache.invalidateAll();
+            AfterTransaction.onCommit(() -> searchIndex.index(saved.copy()));
+            return saved;
         } catch (HandlerException e) {
             throw e;
+        } catch (DataIntegrityViolationException e) {
+            // Another request inserted the same name after the existence check
+            throw new HandlerException(DUPLICATE_NAME + product.getName(), "CONFLICT");
+        } catch (Exception e) {
+            throw new HandlerException(ERROR_SAVING + e.getMessage(), "DATABASE_ERROR");
+        }
+    }
+
+    /**
+     * Inserts a chunk of products with one batched statement.
+     * Name uniqueness is checked for the whole chunk with a single query. Products
+     * whose name already exists, in the database or earlier in the chunk, are skipped.
+     * A name inserted concurrently after the lookup fails the whole batch on the
+     * unique constraint, and the transaction must then be rolled back.
+     * @param products The products to insert
+     * @return The same products in order; inserted ones carry their generated ID, skipped ones a null ID
+     * @throws HandlerException CONFLICT if a name was taken concurrently, or if there's a database error
+     */
+    public List<Product> saveAll(List<Product> products) {
+        try {
+            Set<String> takenNames = new HashSet<>();
+            productRepository.findExistingNames(products.stream().map(Product::getName).toList())
+                    .forEach(name -> takenNames.add(ProductSearchIndex.fold(name)));
+
+            List<Product> toInsert = new ArrayList<>();
+            for (Product product : products) {
+                product.setId(null);
+                if (takenNames.add(ProductSearchIndex.fold(product.getName()))) {
+                    toInsert.add(product);
+                }
+            }
+            if (toInsert.isEmpty()) {
+                return products;
+            }
+
+            Map<Long, Long> deltas = new HashMap<>();
+            toInsert.forEach(product -> deltas.merge(product.getCategoryId(), 1L, Long::sum));
+            categoryDatasource.adjustProductCounts(deltas);
+
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(
+                    con -> con.prepareStatement(INSERT_PRODUCT, Statement.RETURN_GENERATED_KEYS),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            Product product = toInsert.get(i);
+                            ps.setString(1, product.getName());
+                            ps.setString(2, product.getDescription());
+                            ps.setDouble(3, product.getPrice());
+                            ps.setInt(4, product.getStock());
+                            ps.setObject(5, product.getCategoryId());
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return toInsert.size();
+                        }
+                    },
+                    keyHolder);
+
+            List<Map<String, Object>> keys = keyHolder.getKeyList();
+            List<Product> inserted = new ArrayList<>(toInsert.size());
+            for (int i = 0; i < toInsert.size(); i++) {
+                Product product = toInsert.get(i);
+                product.setId(((Number) keys.get(i).values().iterator().next()).longValue());
+                product.setVersion(0L);
+                inserted.add(product.copy());
+            }
+            changeCounters.increment(ChangeCounters.CATALOG);
+            productListCache.invalidateAll();
+            AfterTransaction.onCommit(() -> inserted.forEach(searchIndex::index));
+            return products;
+        } catch (HandlerException e) {
+            throw e;
+        } catch (DuplicateKeyException e) {
+            String name = products.size() == 1 ? products.get(0).getName() : e.getMostSpecificCause().getMessage();
+            throw new HandlerException(DUPLICATE_NAME + name, "CONFLICT");
         } catch (Exception e) {
             throw new HandlerException(ERROR_SAVING + e.getMessage(), "DATABASE_ERROR");
         }
@@ -85,25 +422,46 @@ public class ProductDatasource {
 
     /**
      * Updates an existing product in the database.
-     * @param product The product data to update
+     * The row is read once; when the product carries a version (from If-Match)
+     * it must match the stored one.
+     * @param product The product data to update, with the expected version or null
      * @param id The ID of the product to update
      * @return The updated product
-     * @throws HandlerException if the product is not found, name conflicts, or there's a database error
+     * @throws HandlerException if the product is not found, the version does not match,
+     *         the name conflicts, or there's a database error
      */
     public Product update(Product product, Long id) {
         try {
-            Product existingProduct = findById(id);
-            
+            Product existingProduct = productRepository.findById(id)
+                    .orElseThrow(() -> new HandlerException(PRODUCT_NOT_FOUND + id, "NOT_FOUND"));
+
+            if (product.getVersion() != null && !product.getVersion().equals(existingProduct.getVersion())) {
+                throw new HandlerException(VERSION_MISMATCH + existingProduct.getVersion(), "PRECONDITION_FAILED");
+            }
+
             if (!existingProduct.getName().equals(product.getName()) && 
                 productRepository.existsByName(product.getName())) {
-                throw new HandlerException("Ya existe un producto con el nombre: " + product.getName(), "VALIDATION_ERROR");
+                throw new HandlerException(DUPLICATE_NAME + product.getName(), "VALIDATION_ERROR");
             }
 
             existingProduct.setName(product.getName());
             existingProduct.setDescription(product.getDescription());
             existingProduct.setPrice(product.getPrice());
-            
-            return productRepository.save(existingProduct);
+            Long previousCategoryId = existingProduct.getCategoryId();
+            Long categoryId = product.getCategoryId();
+            if (!Objects.equals(previousCategoryId, categoryId)) {
+                Map<Long, Long> deltas = countDelta(categoryId, 1);
+                deltas.merge(previousCategoryId, -1L, Long::sum);
+                categoryDatasource.adjustProductCounts(deltas);
+                existingProduct.setCategory(categoryDatasource.reference(categoryId));
+            }
+
+            Product updated = productRepository.save(existingProduct);
+            changeCounters.increment(ChangeCounters.CATALOG);
+            productCache.invalidate(id);
+            productListCache.invalidateAll();
+            AfterTransaction.onCommit(() -> searchIndex.index(updated.copy()));
+            return updated;
         } catch (HandlerException e) {
             throw e;
         } catch (Exception e) {
@@ -111,21 +469,151 @@ public class ProductDatasource {
         }
     }
 
+    /**
+     * Reserves stock for a set of products, in ID order so concurrent orders
+     * lock rows in the same sequence. Each product costs one conditional UPDATE
+     * that only applies when enough units are left; hot products are first
+     * served from their in-memory stripes. Negative quantities release units.
+     * Stock changes bump neither the product version nor the catalog counter,
+     * so they never conflict with product edits and do not invalidate catalog
+     * listings; only the product's read cache entry, whose ETag carries the
+     * stock, is dropped on commit. Cached lists and search hits re-read stock.
+     * @param quantities Units to reserve per product ID
+     * @throws HandlerException if a product does not have enough stock or there's a database error
+     */
+    public void reserveStock(Map<Long, Integer> quantities) {
+        try {
+            for (Map.Entry<Long, Integer> entry : new TreeMap<>(quantities).entrySet()) {
+                Long id = entry.getKey();
+                int quantity = entry.getValue();
+                if (quantity < 0) {
+                    jdbcTemplate.update(RELEASE_STOCK, -quantity, id);
+                } else if (quantity > 0 && !(hotStock.isHot(id) && hotStock.tryReserve(id, quantity))
+                        && jdbcTemplate.update(RESERVE_STOCK, quantity, id, quantity) == 0) {
+                    throw new HandlerException(INSUFFICIENT_STOCK + id, "CONFLICT");
+                }
+            }
+            AfterTransaction.onCommit(() -> quantities.keySet().forEach(productCache::invalidate));
+        } catch (HandlerException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new HandlerException(ERROR_STOCK + e.getMessage(), "DATABASE_ERROR");
+        }
+    }
+
+    /**
+     * Returns reserved units to stock, e.g. when an order is cancelled.
+     * @param quantities Units to release per product ID
+     * @throws HandlerException if there's a database error
+     */
+    public void releaseStock(Map<Long, Integer> quantities) {
+        Map<Long, Integer> negated = new HashMap<>();
+        quantities.forEach((id, quantity) -> negated.put(id, -quantity));
+        reserveStock(negated);
+    }
+
+    /**
+     * Adds units to, or with a negative delta removes units from, one product's stock.
+     * @param id The product ID
+     * @param delta Units to add, or to remove when negative
+     * @return The product with its current stock
+     * @throws HandlerException if the product is not found, would go below zero or there's a database error
+     */
+    public Product adjustStock(Long id, int delta) {
+        if (!productRepository.existsById(id)) {
+            throw new HandlerException(PRODUCT_NOT_FOUND + id, "NOT_FOUND");
+        }
+        releaseStock(Map.of(id, delta));
+        // Read past the cache, whose entry is only dropped on commit
+        return productRepository.findById(id)
+                .orElseThrow(() -> new HandlerException(PRODUCT_NOT_FOUND + id, "NOT_FOUND"));
+    }
+
     /**
      * Deletes a product from the database.
+     * The delete is flushed immediately so a product still referenced by order
+     * lines is reported as a conflict.
      * @param id The ID of the product to delete
-     * @throws HandlerException if the product is not found or there's a database error
+     * @throws HandlerException if the product is not found, is used by an order or there's a database error
      */
     public void deleteById(Long id) {
         try {
-            if (!productRepository.existsById(id)) {
-                throw new HandlerException(PRODUCT_NOT_FOUND + id, "NOT_FOUND");
-            }
-            productRepository.deleteById(id);
+            Product product = productRepository.findById(id)
+                    .orElseThrow(() -> new HandlerException(PRODUCT_NOT_FOUND + id, "NOT_FOUND"));
+            categoryDatasource.adjustProductCounts(countDelta(product.getCategoryId(), -1));
+            productRepository.delete(product);
+            productRepository.flush();
+            changeCounters.increment(ChangeCounters.CATALOG);
+            productCache.invalidate(id);
+            productListCache.invalidateAll();
+            AfterTransaction.onCommit(() -> searchIndex.remove(id));
         } catch (HandlerException e) {
             throw e;
+        } catch (DataIntegrityViolationException e) {
+            throw new HandlerException(PRODUCT_IN_USE + id, "CONFLICT");
         } catch (Exception e) {
             throw new HandlerException(ERROR_DELETING + e.getMessage(), "DATABASE_ERROR");
         }
     }
-} 
\ No newline at end of file
+
+    // Replaces the stock of cached copies with the stored one; products deleted since are dropped
+    private List<Product> withCurrentStock(List<Product> products, List<Long> ids) {
+        Map<Long, Integer> stock = new HashMap<>();
+        RowCallbackHandler collect = rs -> stock.put(rs.getLong("id"), rs.getInt("stock"));
+        if (ids == null) {
+            jdbcTemplate.query(SELECT_STOCK, collect);
+        } else {
+            jdbcTemplate.query(SELECT_STOCK + " WHERE id IN (" + String.join(", ", Collections.nCopies(ids.size(), "?"))
+                    + ")", collect, ids.toArray());
+        }
+        List<Product> current = new ArrayList<>(products.size());
+        for (Product product : products) {
+            Integer units = stock.get(product.getId());
+            if (units != null) {
+                product.setStock(units);
+                current.add(product);
+            }
+        }
+        return current;
+    }
+
+    private Product mapRow(ResultSet rs) throws SQLException {
+        return new Product(
+            rs.getLong("id"),
+            rs.getString("name"),
+            rs.getString("description"),
+            rs.getDouble("price"),
+            rs.getInt("stock"),
+            Category.ofId(rs.getObject("category_id", Long.class)),
+            rs.getLong("version")
+        );
+    }
+
+    private static Map<Long, Long> countDelta(Long categoryId, long delta) {
+        Map<Long, Long> deltas = new HashMap<>();
+        deltas.put(categoryId, delta);
+        return deltas;
+    }
+
+    private static void addPriceFilter(ProductQuery query, List<String> conditions, List<Object> params) {
+        if (query.minPrice() != null) {
+            conditions.add("price >= ?");
+            params.add(query.minPrice());
+        }
+        if (query.maxPrice() != null) {
+            conditions.add("price <= ?");
+            params.add(query.maxPrice());
+        }
+    }
+
+    private static void addCategoryFilter(ProductQuery query, List<String> conditions, List<Object> params) {
+        if (query.categoryId() != null) {
+            conditions.add("category_id = ?");
+            params.add(query.categoryId());
+        }
+    }
+
+    private static String where(List<String> conditions) {
+        return conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+    }
+}
@@ -3,6 +3,7 @@ package com.app.products.infrastructure.dto;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.Data;
 
 /**
@@ -33,4 +34,17 @@ public class ProductRequest {
     @NotNull(message = "El precio es requerido")
     @Positive(message = "El precio debe ser mayor a 0")
     private Double price;
+
+    /**
+     * Initial units in stock, only used on creation.
+     * Optional, defaults to 0. Later changes go through the stock endpoint.
+     */
+    @PositiveOrZero(message = "El stock no puede ser negativo")
+    private Integer stock;
+
+    /**
+     * ID of the product's category.
+     * Optional.
+     */
+    private Long categoryId;
 } 
\ No newline at end of file
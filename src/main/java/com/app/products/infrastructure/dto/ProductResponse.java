@@ -32,4 +32,14 @@ public class ProductResponse {
      * Price of the product.
      */
     private Double price;
+
+    /**
+     * Units available for new orders.
+     */
+    private Integer stock;
+
+    /**
+     * ID of the product's category, null if uncategorized.
+     */
+    private Long categoryId;
 } 
\ No newline at end of file
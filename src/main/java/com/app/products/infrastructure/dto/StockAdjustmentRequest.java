@@ -0,0 +1,18 @@
+package com.app.products.infrastructure.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+/**
+ * Stock Adjustment Request DTO
+ * Units to add to or remove from a product's stock.
+ */
+@Data
+public class StockAdjustmentRequest {
+    /**
+     * Units to add, or to remove when negative.
+     * Must not be null.
+     */
+    @NotNull(message = "La cantidad es requerida")
+    private Integer delta;
+}
@@ -1,7 +1,11 @@
 package com.app.products.infrastructure.mapper;
 
+import java.util.List;
+
 import org.springframework.stereotype.Component;
 
+import com.app.categories.domain.Category;
+import com.app.shared.infrastructure.export.ExportColumn;
 import com.app.products.domain.Product;
 import com.app.products.infrastructure.dto.ProductRequest;
 import com.app.products.infrastructure.dto.ProductResponse;
@@ -13,6 +17,18 @@ import com.app.products.infrastructure.dto.ProductResponse;
  */
 @Component
 public class ProductMapper {
+
+    /**
+     * Columns of the product export, in output order.
+     */
+    public static final List<ExportColumn<Product>> EXPORT_COLUMNS = List.of(
+        new ExportColumn<>("id", Product::getId),
+        new ExportColumn<>("name", Product::getName),
+        new ExportColumn<>("description", Product::getDescription),
+        new ExportColumn<>("price", Product::getPrice),
+        new ExportColumn<>("stock", Product::getStock),
+        new ExportColumn<>("categoryId", Product::getCategoryId)
+    );
     
     /**
      * Converts a ProductRequest DTO to a Product entity.
@@ -24,6 +40,10 @@ public class ProductMapper {
         product.setName(request.getName());
         product.setDescription(request.getDescription());
         product.setPrice(request.getPrice());
+        if (request.getStock() != null) {
+            product.setStock(request.getStock());
+        }
+        product.setCategory(Category.ofId(request.getCategoryId()));
         return product;
     }
 
@@ -37,7 +57,9 @@ public class ProductMapper {
             product.getId(),
             product.getName(),
             product.getDescription(),
-            product.getPrice()
+            product.getPrice(),
+            product.getStock(),
+            product.getCategoryId()
         );
     }
 
@@ -50,5 +72,6 @@ public class ProductMapper {
         product.setName(request.getName());
         product.setDescription(request.getDescription());
         product.setPrice(request.getPrice());
+        product.setCategory(Category.ofId(request.getCategoryId()));
     }
 } 
\ No newline at end of file
@@ -0,0 +1,272 @@
+package com.app.products.infrastructure.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import org.springframework.stereotype.Component;
+
+import com.app.products.domain.Product;
+
+/**
+ * Product Search Index
+ * In-process inverted index over product names, descriptions and the names
+ * of their categories.
+ * Terms are folded to lower case without accents ("Maíz" and "maiz" match),
+ * results are ranked with a field-weighted TF-IDF score, and the last query
+ * term also matches as a prefix to support search-as-you-type.
+ * The index is updated incrementally by ProductDatasource after each commit,
+ * and by CategoryDatasource when a category is renamed.
+ */
+@Component
+public class ProductSearchIndex {
+
+    private static final int NAME_WEIGHT = 3;
+    private static final int CATEGORY_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final double PREFIX_FACTOR = 0.5;
+    private static final int MIN_PREFIX_LENGTH = 2;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // term -> (product id -> weighted term frequency)
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private final Map<Long, IndexedProduct> documents = new HashMap<>();
+    private final Map<Long, String> categoryNames = new HashMap<>();
+
+    /**
+     * Adds a product to the index, replacing any previous version of it.
+     * Its category's name is taken from the names given to putCategory.
+     * @param product The product to index; the index keeps its own copy
+     */
+    public void index(Product product) {
+        lock.writeLock().lock();
+        try {
+            indexUnlocked(product.copy());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Records the name of a category and reindexes its products, so they are
+     * found by the new name and no longer by the old one.
+     * @param categoryId The category ID
+     * @param name The category's current name
+     */
+    public void putCategory(Long categoryId, String name) {
+        lock.writeLock().lock();
+        try {
+            if (name.equals(categoryNames.put(categoryId, name))) {
+                return;
+            }
+            List<Product> members = documents.values().stream()
+                    .map(IndexedProduct::product)
+                    .filter(product -> categoryId.equals(product.getCategoryId()))
+                    .toList();
+            members.forEach(this::indexUnlocked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Forgets a deleted category's name.
+     * @param categoryId The category ID
+     */
+    public void removeCategory(Long categoryId) {
+        lock.writeLock().lock();
+        try {
+            categoryNames.remove(categoryId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a product from the index.
+     * @param id The ID of the product to remove
+     */
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes every product from the index.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            categoryNames.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Searches the index.
+     * @param query Free text query; accents and case are ignored
+     * @param limit Maximum number of results
+     * @return Copies of the best matching products, most relevant first
+     */
+    public List<Product> search(String query, int limit) {
+        List<String> queryTerms = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (queryTerms.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Hit> hits = new HashMap<>();
+            for (int i = 0; i < queryTerms.size(); i++) {
+                String term = queryTerms.get(i);
+                boolean last = i == queryTerms.size() - 1;
+                score(hits, term, postings.get(term), 1.0, i);
+                if (last && term.length() >= MIN_PREFIX_LENGTH) {
+                    postings.subMap(term, false, term + Character.MAX_VALUE, false)
+                            .values()
+                            .forEach(matches -> score(hits, term, matches, PREFIX_FACTOR, queryTerms.size() - 1));
+                }
+            }
+            return topHits(hits, queryTerms.size(), limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Splits text into accent-free, lower case terms.
+     * @param text The text to tokenize, may be null
+     * @return The terms in order of appearance
+     */
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> terms = new ArrayList<>();
+        for (String term : SEPARATORS.split(fold(text))) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Folds text to lower case without accents, mirroring the accent and case
+     * insensitive collation MySQL uses to compare names.
+     * @param text The text to fold
+     * @return The folded text
+     */
+    public static String fold(String text) {
+        return DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    private void score(Map<Long, Hit> hits, String term, Map<Long, Integer> matches, double factor, int termIndex) {
+        if (matches == null || matches.isEmpty()) {
+            return;
+        }
+        double idf = Math.log(1.0 + (double) documents.size() / matches.size());
+        matches.forEach((id, weight) -> hits.computeIfAbsent(id, Hit::new).add(termIndex, weight * idf * factor));
+    }
+
+    private List<Product> topHits(Map<Long, Hit> hits, int queryTermCount, int limit) {
+        Comparator<Hit> byRelevance = Comparator.<Hit>comparingDouble(hit -> hit.finalScore(queryTermCount))
+                .thenComparing(hit -> -hit.id);
+        PriorityQueue<Hit> top = new PriorityQueue<>(byRelevance);
+        for (Hit hit : hits.values()) {
+            top.offer(hit);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+        List<Product> results = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            results.add(documents.get(top.poll().id).product().copy());
+        }
+        Collections.reverse(results);
+        return results;
+    }
+
+    private void indexUnlocked(Product product) {
+        Map<String, Integer> terms = new HashMap<>();
+        addTerms(terms, product.getName(), NAME_WEIGHT);
+        addTerms(terms, product.getDescription(), DESCRIPTION_WEIGHT);
+        if (product.getCategoryId() != null) {
+            addTerms(terms, categoryNames.get(product.getCategoryId()), CATEGORY_WEIGHT);
+        }
+        removeUnlocked(product.getId());
+        documents.put(product.getId(), new IndexedProduct(product, terms));
+        terms.forEach((term, weight) ->
+                postings.computeIfAbsent(term, t -> new HashMap<>()).put(product.getId(), weight));
+    }
+
+    private void removeUnlocked(Long id) {
+        IndexedProduct previous = documents.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.terms().keySet()) {
+            Map<Long, Integer> matches = postings.get(term);
+            if (matches != null) {
+                matches.remove(id);
+                if (matches.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private static void addTerms(Map<String, Integer> terms, String text, int weight) {
+        for (String term : tokenize(text)) {
+            terms.merge(term, weight, Integer::sum);
+        }
+    }
+
+    private record IndexedProduct(Product product, Map<String, Integer> terms) {
+    }
+
+    private static final class Hit {
+        private final Long id;
+        private final Set<Integer> matchedTerms = new HashSet<>();
+        private double score;
+
+        private Hit(Long id) {
+            this.id = id;
+        }
+
+        private void add(int termIndex, double value) {
+            matchedTerms.add(termIndex);
+            score += value;
+        }
+
+        // Documents matching more of the query terms rank higher
+        private double finalScore(int queryTermCount) {
+            return score * matchedTerms.size() / queryTermCount;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.app.products.infrastructure.stock;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.app.shared.infrastructure.transaction.AfterTransaction;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Striped Stock Reservations
+ * In-memory reservation counters for the configured hot products. Each hot
+ * product has a few stripes, each holding a small allotment of units claimed
+ * from the database in chunks with the same conditional UPDATE used for
+ * regular reservations. Buyers take units from a stripe with a CAS, so only
+ * one in every chunk-size reservations touches the product row.
+ *
+ * Units held by the stripes are already subtracted from products.stock, so the
+ * database never promises more than it has; unsold units are flushed back on a
+ * schedule and on shutdown. A crash can only leave stock understated.
+ */
+@Slf4j
+@Component
+public class StripedStockReservations {
+
+    private static final String CLAIM = "UPDATE products SET stock = stock - ? WHERE id = ? AND stock >= ?";
+    private static final String RETURN = "UPDATE products SET stock = stock + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate claimTransaction;
+    private final Map<Long, AtomicInteger[]> stripes;
+    private final int chunkSize;
+
+    public StripedStockReservations(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            @Value("${app.products.stock.hot-ids:}") Set<Long> hotIds,
+            @Value("${app.products.stock.stripes:8}") int stripeCount,
+            @Value("${app.products.stock.chunk-size:20}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Claims commit on their own so the row lock is held for one statement,
+        // not for the whole order transaction
+        this.claimTransaction = new TransactionTemplate(transactionManager);
+        this.claimTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.stripes = hotIds.stream().collect(Collectors.toUnmodifiableMap(Function.identity(),
+                id -> IntStream.range(0, stripeCount).mapToObj(i -> new AtomicInteger()).toArray(AtomicInteger[]::new)));
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Tells whether a product is served by the in-memory counters.
+     * @param productId The product ID
+     * @return true for configured hot products
+     */
+    public boolean isHot(Long productId) {
+        return stripes.containsKey(productId);
+    }
+
+    /**
+     * Reserves units of a hot product from the stripes, claiming a new chunk
+     * from the database when the local allotment runs out. The units go back
+     * to their stripe if the current transaction rolls back.
+     * When no chunk can be claimed, every stripe of the product is flushed back
+     * so the caller can retry with an exact conditional UPDATE.
+     * @param productId The hot product ID
+     * @param quantity  Units to reserve
+     * @return true if the units were reserved, false if the caller must fall back
+     */
+    public boolean tryReserve(Long productId, int quantity) {
+        AtomicInteger[] productStripes = stripes.get(productId);
+        int start = ThreadLocalRandom.current().nextInt(productStripes.length);
+        for (int i = 0; i < productStripes.length; i++) {
+            AtomicInteger stripe = productStripes[(start + i) % productStripes.length];
+            if (take(stripe, quantity)) {
+                AfterTransaction.onRollback(() -> stripe.addAndGet(quantity));
+                return true;
+            }
+        }
+
+        AtomicInteger stripe = productStripes[start];
+        synchronized (stripe) {
+            if (take(stripe, quantity)) {
+                AfterTransaction.onRollback(() -> stripe.addAndGet(quantity));
+                return true;
+            }
+            int claim = Math.max(chunkSize, quantity);
+            if (claim(productId, claim)) {
+                stripe.addAndGet(claim - quantity);
+                AfterTransaction.onRollback(() -> stripe.addAndGet(quantity));
+                return true;
+            }
+        }
+        flush(productId);
+        return false;
+    }
+
+    /**
+     * Returns the unsold units of every hot product to the database.
+     */
+    @Scheduled(fixedDelayString = "${app.products.stock.flush-interval:PT5S}")
+    @PreDestroy
+    public void flush() {
+        stripes.keySet().forEach(this::flush);
+    }
+
+    private void flush(Long productId) {
+        int units = 0;
+        for (AtomicInteger stripe : stripes.get(productId)) {
+            units += stripe.getAndSet(0);
+        }
+        if (units == 0) {
+            return;
+        }
+        int returned = units;
+        try {
+            claimTransaction.executeWithoutResult(status -> jdbcTemplate.update(RETURN, returned, productId));
+        } catch (DataAccessException e) {
+            // Keep the units in memory so they are not lost; the next flush retries
+            stripes.get(productId)[0].addAndGet(returned);
+            log.warn("Could not return {} units of product {} to stock", returned, productId, e);
+        }
+    }
+
+    private boolean claim(Long productId, int units) {
+        Integer updated = claimTransaction.execute(status -> jdbcTemplate.update(CLAIM, units, productId, units));
+        return updated != null && updated > 0;
+    }
+
+    private static boolean take(AtomicInteger stripe, int quantity) {
+        int available;
+        do {
+            available = stripe.get();
+            if (available < quantity) {
+                return false;
+            }
+        } while (!stripe.compareAndSet(available, available - quantity));
+        return true;
+    }
+}
@@ -1,22 +1,54 @@
 package com.app.shared.adapters;
 
+import java.net.URI;
+import java.security.Principal;
 import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.app.shared.application.exception.HandlerException;
+import com.app.shared.infrastructure.export.ExportFormat;
+import com.app.shared.infrastructure.idempotency.IdempotencyStore;
+import com.app.shared.infrastructure.idempotency.IdempotentResponse;
 
 public abstract class BaseController {
 
     private static final String INTERNAL_ERROR = "INTERNAL_ERROR";
+    private static final String CONFLICT = "CONFLICT";
+    private static final String CONCURRENT_MODIFICATION = "El recurso fue modificado por otra petición";
+
+    // Error codes answered with a specific status; every other code maps to 400
+    private static final Map<String, HttpStatus> STATUS_BY_ERROR_CODE = Map.of(
+        CONFLICT, HttpStatus.CONFLICT,
+        "PRECONDITION_FAILED", HttpStatus.PRECONDITION_FAILED,
+        "SERVICE_UNAVAILABLE", HttpStatus.SERVICE_UNAVAILABLE,
+        "IDEMPOTENCY_KEY_REUSED", HttpStatus.UNPROCESSABLE_ENTITY
+    );
+
+    // Header marking a response replayed from an earlier request with the same Idempotency-Key
+    private static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
+    // Seconds a client is asked to wait before retrying a 503
+    private static final String RETRY_AFTER_SECONDS = "1";
 
     protected <T> ResponseEntity<T> handleRequest(Supplier<T> action) {
         try {
             return ResponseEntity.ok(action.get());
         } catch (HandlerException e) {
             throw e;
+        } catch (OptimisticLockingFailureException e) {
+            throw new HandlerException(CONCURRENT_MODIFICATION, CONFLICT);
         } catch (Exception e) {
             throw new HandlerException(e.getMessage(), INTERNAL_ERROR);
         }
@@ -28,16 +60,198 @@ public abstract class BaseController {
             return ResponseEntity.ok().build();
         } catch (HandlerException e) {
             throw e;
+        } catch (OptimisticLockingFailureException e) {
+            throw new HandlerException(CONCURRENT_MODIFICATION, CONFLICT);
+        } catch (Exception e) {
+            throw new HandlerException(e.getMessage(), INTERNAL_ERROR);
+        }
+    }
+
+    protected <E, T> ResponseEntity<T> handleVersionedRequest(Supplier<E> action,
+            Function<E, String> etagOf, Function<E, T> toBody) {
+        return handleConditionalRequest(null, action, etagOf, toBody);
+    }
+
+    /**
+     * Runs an action whose work may finish after the response. A result with a
+     * status location is answered with 202 Accepted pointing there; a result
+     * without one is already done and answered with 201 Created.
+     */
+    protected <E, T> ResponseEntity<T> handleAcceptedRequest(Supplier<E> action,
+            Function<E, URI> statusLocationOf, Function<E, T> toBody) {
+        try {
+            E result = action.get();
+            URI location = statusLocationOf.apply(result);
+            if (location == null) {
+                return ResponseEntity.status(HttpStatus.CREATED).body(toBody.apply(result));
+            }
+            return ResponseEntity.accepted().location(location).body(toBody.apply(result));
+        } catch (HandlerException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new HandlerException(e.getMessage(), INTERNAL_ERROR);
+        }
+    }
+
+    /**
+     * Runs a create at most once per Idempotency-Key. Without a key it behaves
+     * like handleVersionedRequest; with one, a retry gets the stored response
+     * marked with Idempotent-Replayed instead of creating the resource again.
+     * Keys belong to the authenticated caller, so two users sending the same
+     * key never see each other's responses.
+     */
+    protected <E, T> ResponseEntity<T> handleIdempotentRequest(IdempotencyStore idempotencyStore, String scope,
+            Principal principal, String idempotencyKey, Object request, Class<T> responseType, Supplier<E> action,
+            Function<E, String> etagOf, Function<E, T> toBody) {
+        if (idempotencyKey == null) {
+            return handleVersionedRequest(action, etagOf, toBody);
+        }
+        try {
+            String owner = principal == null ? IdempotencyStore.ANONYMOUS : principal.getName();
+            IdempotentResponse<T> response = idempotencyStore.execute(scope, owner, idempotencyKey, request,
+                    responseType,
+                    () -> {
+                        E entity = action.get();
+                        return new IdempotentResponse<>(toBody.apply(entity), etagOf.apply(entity), false);
+                    });
+            ResponseEntity.BodyBuilder builder = ResponseEntity.ok().eTag(response.etag());
+            if (response.replayed()) {
+                builder.header(IDEMPOTENT_REPLAYED, "true");
+            }
+            return builder.body(response.body());
+        } catch (HandlerException e) {
+            throw e;
+        } catch (OptimisticLockingFailureException e) {
+            throw new HandlerException(CONCURRENT_MODIFICATION, CONFLICT);
+        } catch (Exception e) {
+            throw new HandlerException(e.getMessage(), INTERNAL_ERROR);
+        }
+    }
+
+    /**
+     * Answers 304 Not Modified when the request's If-None-Match matches the
+     * entity's ETag, without converting or serializing the body.
+     */
+    protected <E, T> ResponseEntity<T> handleConditionalRequest(WebRequest request, Supplier<E> action,
+            Function<E, String> etagOf, Function<E, T> toBody) {
+        try {
+            E entity = action.get();
+            String etag = etagOf.apply(entity);
+            if (request != null && request.checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+            return ResponseEntity.ok().eTag(etag).body(toBody.apply(entity));
+        } catch (HandlerException e) {
+            throw e;
+        } catch (OptimisticLockingFailureException e) {
+            throw new HandlerException(CONCURRENT_MODIFICATION, CONFLICT);
+        } catch (Exception e) {
+            throw new HandlerException(e.getMessage(), INTERNAL_ERROR);
+        }
+    }
+
+    protected ResponseEntity<StreamingResponseBody> handleStreamRequest(MediaType mediaType,
+            Supplier<StreamingResponseBody> action) {
+        try {
+            return ResponseEntity.ok().contentType(mediaType).body(action.get());
+        } catch (HandlerException e) {
+            throw e;
         } catch (Exception e) {
             throw new HandlerException(e.getMessage(), INTERNAL_ERROR);
         }
     }
 
+    /**
+     * Streams an export as a file download named after the resource and format;
+     * gzip exports are served as application/gzip with a .gz suffix.
+     */
+    protected ResponseEntity<StreamingResponseBody> handleExportRequest(String name, ExportFormat format,
+            boolean gzip, Supplier<StreamingResponseBody> action) {
+        String filename = name + "." + format.getExtension() + (gzip ? ".gz" : "");
+        MediaType mediaType = gzip ? MediaType.parseMediaType("application/gzip") : format.getMediaType();
+        try {
+            return ResponseEntity.ok()
+                    .contentType(mediaType)
+                    .header(HttpHeaders.CONTENT_DISPOSITION,
+                            ContentDisposition.attachment().filename(filename).build().toString())
+                    .body(action.get());
+        } catch (HandlerException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new HandlerException(e.getMessage(), INTERNAL_ERROR);
+        }
+    }
+
+    /**
+     * Streams the body only when the request's If-None-Match does not match
+     * the given ETag; otherwise answers 304 without touching the rows.
+     */
+    protected ResponseEntity<StreamingResponseBody> handleConditionalStreamRequest(WebRequest request,
+            MediaType mediaType, Supplier<String> etag, Supplier<StreamingResponseBody> action) {
+        try {
+            String currentEtag = etag.get();
+            if (request.checkNotModified(currentEtag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(currentEtag).build();
+            }
+            return ResponseEntity.ok().eTag(currentEtag).contentType(mediaType).body(action.get());
+        } catch (HandlerException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new HandlerException(e.getMessage(), INTERNAL_ERROR);
+        }
+    }
+
+    /**
+     * Builds a strong ETag from its parts, e.g. etag("v", 3) -> "v-3" (quoted).
+     */
+    protected static String etag(Object... parts) {
+        StringBuilder value = new StringBuilder("\"");
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                value.append('-');
+            }
+            value.append(parts[i]);
+        }
+        return value.append('"').toString();
+    }
+
+    /**
+     * Extracts the expected entity version from an If-Match header built with
+     * etag("v", version, ...). Parts after the version are ignored. Returns null
+     * when the header is absent or "*".
+     */
+    protected static Long versionFromIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        value = value.replace("\"", "");
+        if (value.startsWith("v-")) {
+            value = value.substring(2);
+        }
+        int end = value.indexOf('-');
+        if (end > 0) {
+            value = value.substring(0, end);
+        }
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new HandlerException("Cabecera If-Match inválida: " + ifMatch, "PRECONDITION_FAILED");
+        }
+    }
+
     @ExceptionHandler(HandlerException.class)
     public ResponseEntity<ErrorResponse> handleHandlerException(HandlerException ex) {
-        return ResponseEntity.badRequest()
-            .body(new ErrorResponse(ex.getErrorCode(), ex.getMessage(), ex.getTimestamp()));
+        HttpStatus status = STATUS_BY_ERROR_CODE.getOrDefault(ex.getErrorCode(), HttpStatus.BAD_REQUEST);
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(status);
+        if (status == HttpStatus.SERVICE_UNAVAILABLE) {
+            response.header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+        }
+        return response.body(new ErrorResponse(ex.getErrorCode(), ex.getMessage(), ex.getTimestamp()));
     }
 
     record ErrorResponse(String errorCode, String message, LocalDateTime timestamp) {}
-} 
\ No newline at end of file
+}
@@ -0,0 +1,56 @@
+package com.app.shared.domain;
+
+import java.io.Serializable;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Change Counter Entity
+ * One slot of a named, monotonically increasing change counter.
+ * A counter is split over several slots so concurrent writers rarely contend
+ * on the same row; its value is the sum of all slots.
+ * This class is mapped to the 'change_counters' table in the database.
+ */
+@Entity
+@Table(name = "change_counters")
+@IdClass(ChangeCounter.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeCounter {
+    /**
+     * Name of the counter (e.g., 'catalog').
+     */
+    @Id
+    @Column(nullable = false, length = 64)
+    private String name;
+
+    /**
+     * Slot number within the counter.
+     */
+    @Id
+    @Column(nullable = false)
+    private Integer slot;
+
+    /**
+     * Number of changes recorded in this slot.
+     */
+    @Column(nullable = false)
+    private Long value;
+
+    /**
+     * Composite primary key of a counter slot.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private String name;
+        private Integer slot;
+    }
+}
@@ -0,0 +1,86 @@
+package com.app.shared.domain;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Idempotency Key Entity
+ * A client supplied Idempotency-Key and the response of the request that used it.
+ * Keys are scoped to the user that sent them.
+ * The row is inserted in the same transaction as the write it protects, so a
+ * key is only ever stored together with the resource it created.
+ * This class is mapped to the 'idempotency_keys' table in the database.
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = {
+    @Index(name = "idx_idempotency_keys_created", columnList = "created_at")
+})
+@IdClass(IdempotencyKey.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyKey {
+    /**
+     * Endpoint the key was used on (e.g., 'orders').
+     */
+    @Id
+    @Column(nullable = false, length = 32)
+    private String scope;
+
+    /**
+     * Name of the authenticated user that sent the key.
+     */
+    @Id
+    @Column(nullable = false)
+    private String principal;
+
+    /**
+     * The client supplied key.
+     */
+    @Id
+    @Column(name = "idem_key", nullable = false, length = 128)
+    private String idemKey;
+
+    /**
+     * SHA-256 of the request body, to reject a key reused for another request.
+     */
+    @Column(nullable = false, length = 64)
+    private String fingerprint;
+
+    /**
+     * ETag of the stored response.
+     */
+    @Column(length = 64)
+    private String etag;
+
+    /**
+     * JSON body of the stored response.
+     */
+    @Lob
+    private String response;
+
+    /**
+     * When the key was first used.
+     */
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Composite primary key of an idempotency key.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private String scope;
+        private String principal;
+        private String idemKey;
+    }
+}
@@ -0,0 +1,35 @@
+package com.app.shared.domain;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Migration Entity
+ * Marker of a one-time data migration that has already been applied.
+ * The row is inserted in the same transaction as the migration, so it only
+ * exists once the migration has committed.
+ * This class is mapped to the 'migrations' table in the database.
+ */
+@Entity
+@Table(name = "migrations")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Migration {
+    /**
+     * Name of the migration (e.g., 'order_daily_stats.backfill').
+     */
+    @Id
+    @Column(nullable = false, length = 128)
+    private String name;
+
+    /**
+     * When the migration was applied.
+     */
+    @Column(name = "applied_at", nullable = false)
+    private LocalDateTime appliedAt;
+}
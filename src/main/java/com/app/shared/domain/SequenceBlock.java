@@ -0,0 +1,33 @@
+package com.app.shared.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Sequence Block Entity
+ * High-water mark of a named sequence whose values are handed out in blocks.
+ * Each reservation moves the mark forward by one block; the values below it
+ * belong to whichever node reserved them.
+ * This class is mapped to the 'sequence_blocks' table in the database.
+ */
+@Entity
+@Table(name = "sequence_blocks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SequenceBlock {
+    /**
+     * Name of the sequence (e.g., 'order_number').
+     */
+    @Id
+    @Column(nullable = false, length = 64)
+    private String name;
+
+    /**
+     * First value not reserved by any node yet.
+     */
+    @Column(name = "next_value", nullable = false)
+    private Long nextValue;
+}
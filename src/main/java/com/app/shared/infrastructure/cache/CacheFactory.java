@@ -0,0 +1,90 @@
+package com.app.shared.infrastructure.cache;
+
+import java.time.Duration;
+import java.util.function.UnaryOperator;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Cache Factory
+ * Builds bounded, TTL-evicting in-process caches and registers their
+ * hit, miss and eviction counters with the meter registry
+ * (exposed as cache.gets / cache.evictions under /actuator/metrics).
+ */
+@Component
+public class CacheFactory {
+
+    private final MeterRegistry meterRegistry;
+    private final long defaultMaxSize;
+    private final Duration defaultTtl;
+
+    public CacheFactory(MeterRegistry meterRegistry,
+            @Value("${app.cache.max-size:10000}") long defaultMaxSize,
+            @Value("${app.cache.ttl:5m}") Duration defaultTtl) {
+        this.meterRegistry = meterRegistry;
+        this.defaultMaxSize = defaultMaxSize;
+        this.defaultTtl = defaultTtl;
+    }
+
+    /**
+     * Creates an entity cache with the default size and TTL.
+     * @param name Name used for the cache metrics
+     * @param copier Produces a detached copy of a cached value
+     * @return The new cache
+     */
+    public <K, V> EntityCache<K, V> create(String name, UnaryOperator<V> copier) {
+        return create(name, defaultMaxSize, defaultTtl, copier);
+    }
+
+    /**
+     * Creates an entity cache with an explicit size bound and TTL.
+     * @param name Name used for the cache metrics
+     * @param maxSize Maximum number of entries before size eviction
+     * @param ttl Time after a write when an entry expires
+     * @param copier Produces a detached copy of a cached value
+     * @return The new cache
+     */
+    public <K, V> EntityCache<K, V> create(String name, long maxSize, Duration ttl, UnaryOperator<V> copier) {
+        return new EntityCache<>(build(name, maxSize, ttl), copier);
+    }
+
+    /**
+     * Creates a plain monitored cache for values that are immutable and need no copying.
+     * @param name Name used for the cache metrics
+     * @param maxSize Maximum number of entries before size eviction
+     * @param ttl Time after a write when an entry expires
+     * @return The new cache
+     */
+    public <K, V> Cache<K, V> build(String name, long maxSize, Duration ttl) {
+        Cache<K, V> cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+    }
+
+    /**
+     * Creates a monitored cache whose entries each expire at their own time.
+     * @param name Name used for the cache metrics
+     * @param maxSize Maximum number of entries before size eviction
+     * @param expiry Computes the lifetime of each entry when it is written
+     * @return The new cache
+     */
+    public <K, V> Cache<K, V> build(String name, long maxSize, Expiry<K, V> expiry) {
+        Cache<K, V> cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(expiry)
+                .recordStats()
+                .build();
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+    }
+}
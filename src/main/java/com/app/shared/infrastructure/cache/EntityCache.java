@@ -0,0 +1,63 @@
+package com.app.shared.infrastructure.cache;
+
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+import com.app.shared.infrastructure.transaction.AfterTransaction;
+import com.github.benmanes.caffeine.cache.Cache;
+
+/**
+ * Entity Cache
+ * Read-through cache for entities loaded by a datasource.
+ * Only detached copies are stored and handed out, so callers can freely mutate
+ * what they receive without corrupting the cached value or the persistence context.
+ */
+public class EntityCache<K, V> {
+
+    private final Cache<K, V> cache;
+    private final UnaryOperator<V> copier;
+
+    EntityCache(Cache<K, V> cache, UnaryOperator<V> copier) {
+        this.cache = cache;
+        this.copier = copier;
+    }
+
+    /**
+     * Returns the cached value for the key, loading it on a miss.
+     * Exceptions thrown by the loader propagate and nothing is cached.
+     * @param key The cache key
+     * @param loader Loads the value from the database on a miss
+     * @return A private copy of the cached value
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        return copier.apply(cache.get(key, k -> copier.apply(loader.apply(k))));
+    }
+
+    /**
+     * Returns a private copy of the cached value without loading it.
+     * @param key The cache key
+     * @return The cached copy, or null on a miss
+     */
+    public V getIfPresent(K key) {
+        V value = cache.getIfPresent(key);
+        return value == null ? null : copier.apply(value);
+    }
+
+    /**
+     * Evicts the key now and again once the surrounding transaction completes,
+     * so a concurrent reader cannot re-cache the pre-commit row.
+     * @param key The cache key to evict
+     */
+    public void invalidate(K key) {
+        cache.invalidate(key);
+        AfterTransaction.onCompletion(() -> cache.invalidate(key));
+    }
+
+    /**
+     * Evicts every entry now and again once the surrounding transaction completes.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+        AfterTransaction.onCompletion(cache::invalidateAll);
+    }
+}
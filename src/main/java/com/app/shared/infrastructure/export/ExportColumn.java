@@ -0,0 +1,13 @@
+package com.app.shared.infrastructure.export;
+
+import java.util.function.Function;
+
+/**
+ * Export Column
+ * One named column of an export and how to read its value from a row.
+ *
+ * @param name  Field name in NDJSON and header in CSV
+ * @param value Extracts the column value from a row
+ */
+public record ExportColumn<T>(String name, Function<T, Object> value) {
+}
@@ -0,0 +1,48 @@
+package com.app.shared.infrastructure.export;
+
+import org.springframework.http.MediaType;
+
+import com.app.shared.application.exception.HandlerException;
+
+/**
+ * Export Format
+ * Output formats supported by the streaming export endpoints.
+ */
+public enum ExportFormat {
+    NDJSON("ndjson", MediaType.parseMediaType("application/x-ndjson")),
+    CSV("csv", MediaType.parseMediaType("text/csv;charset=UTF-8"));
+
+    private final String extension;
+    private final MediaType mediaType;
+
+    ExportFormat(String extension, MediaType mediaType) {
+        this.extension = extension;
+        this.mediaType = mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Resolves the format from a request parameter.
+     * @param value The requested format, null for NDJSON
+     * @return The matching format
+     * @throws HandlerException if the format is not supported
+     */
+    public static ExportFormat fromParam(String value) {
+        if (value == null || value.isBlank()) {
+            return NDJSON;
+        }
+        for (ExportFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new HandlerException("Formato de exportación no soportado: " + value, "VALIDATION_ERROR");
+    }
+}
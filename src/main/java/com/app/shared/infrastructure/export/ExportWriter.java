@@ -0,0 +1,121 @@
+package com.app.shared.infrastructure.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Export Writer
+ * Streams rows straight to the response output stream as NDJSON or CSV,
+ * optionally gzip compressed. Each row is written as soon as the database
+ * hands it over, so memory use does not depend on the number of rows.
+ */
+public final class ExportWriter {
+
+    // Size of the buffer between the row writer and the (compressed) output stream
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private ExportWriter() {
+    }
+
+    /**
+     * Builds a response body that streams every row produced by the source.
+     *
+     * @param objectMapper The mapper used to serialize NDJSON values
+     * @param format The output format
+     * @param gzip Whether to gzip the output
+     * @param columns The exported columns, in order
+     * @param source Pushes rows into the given consumer
+     * @return The streaming response body
+     */
+    public static <T> StreamingResponseBody stream(ObjectMapper objectMapper, ExportFormat format, boolean gzip,
+            List<ExportColumn<T>> columns, Consumer<Consumer<T>> source) {
+        return out -> {
+            OutputStream target = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : out;
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), BUFFER_SIZE)) {
+                if (format == ExportFormat.CSV) {
+                    writeCsv(writer, columns, source);
+                } else {
+                    writeNdjson(objectMapper, writer, columns, source);
+                }
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+    }
+
+    private static <T> void writeNdjson(ObjectMapper objectMapper, Writer writer, List<ExportColumn<T>> columns,
+            Consumer<Consumer<T>> source) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+        source.accept(row -> {
+            try {
+                generator.writeStartObject();
+                for (ExportColumn<T> column : columns) {
+                    generator.writeObjectField(column.name(), column.value().apply(row));
+                }
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        generator.flush();
+    }
+
+    private static <T> void writeCsv(Writer writer, List<ExportColumn<T>> columns,
+            Consumer<Consumer<T>> source) throws IOException {
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeCsvValue(writer, columns.get(i).name());
+        }
+        writer.write("\r\n");
+        source.accept(row -> {
+            try {
+                for (int i = 0; i < columns.size(); i++) {
+                    if (i > 0) {
+                        writer.write(',');
+                    }
+                    Object value = columns.get(i).value().apply(row);
+                    if (value != null) {
+                        writeCsvValue(writer, value.toString());
+                    }
+                }
+                writer.write("\r\n");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    // RFC 4180: quote values containing separators, quotes or line breaks and double inner quotes
+    private static void writeCsvValue(Writer writer, String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
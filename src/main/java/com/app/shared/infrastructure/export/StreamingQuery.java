@@ -0,0 +1,41 @@
+package com.app.shared.infrastructure.export;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+import org.springframework.jdbc.core.PreparedStatementCreator;
+
+/**
+ * Streaming Query
+ * Prepares forward-only, read-only statements whose rows are streamed from
+ * the server one at a time instead of being buffered by the driver.
+ */
+public final class StreamingQuery {
+
+    /**
+     * Fetch size that makes MySQL Connector/J stream the result set row by row.
+     * Without it the driver reads the whole result into memory before returning.
+     */
+    public static final int STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+
+    private StreamingQuery() {
+    }
+
+    /**
+     * Builds a statement creator for a streamed query.
+     * The connection stays busy until the result set is fully read or closed.
+     * @param sql The query
+     * @param params The positional parameters
+     * @return The statement creator
+     */
+    public static PreparedStatementCreator of(String sql, Object... params) {
+        return con -> {
+            PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(STREAMING_FETCH_SIZE);
+            for (int i = 0; i < params.length; i++) {
+                ps.setObject(i + 1, params[i]);
+            }
+            return ps;
+        };
+    }
+}
@@ -0,0 +1,211 @@
+package com.app.shared.infrastructure.idempotency;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.app.shared.application.exception.HandlerException;
+import com.app.shared.infrastructure.cache.CacheFactory;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+
+/**
+ * Idempotency Store
+ * Executes creates at most once per Idempotency-Key and user. Keys are scoped
+ * to the authenticated principal, so a key sent by one user never replays
+ * another user's response.
+ * Completed responses live in a bounded in-memory cache in front of the
+ * 'idempotency_keys' table, so a replay on the same node costs no database
+ * work. The key row is inserted in the same transaction as the create: a
+ * concurrent request with the same key blocks on that row and then replays
+ * the committed response, and a failed create leaves no key behind.
+ */
+@Component
+public class IdempotencyStore {
+
+    public static final int MAX_KEY_LENGTH = 128;
+
+    /**
+     * Owner of keys sent without an authenticated principal.
+     */
+    public static final String ANONYMOUS = "";
+
+    private static final String KEY_REUSED = "La Idempotency-Key ya se usó con otra petición";
+    private static final String INVALID_KEY = "Idempotency-Key inválida";
+    private static final String ERROR_STORING = "Error al registrar la Idempotency-Key: ";
+
+    private static final String INSERT = "INSERT INTO idempotency_keys"
+            + " (scope, principal, idem_key, fingerprint, created_at) VALUES (?, ?, ?, ?, ?)";
+    private static final String COMPLETE = "UPDATE idempotency_keys SET etag = ?, response = ?"
+            + " WHERE scope = ? AND principal = ? AND idem_key = ?";
+    private static final String SELECT = "SELECT fingerprint, etag, response FROM idempotency_keys"
+            + " WHERE scope = ? AND principal = ? AND idem_key = ?";
+    private static final String PURGE = "DELETE FROM idempotency_keys WHERE created_at < ? LIMIT ?";
+    private static final int PURGE_BATCH = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration retention;
+    private final Cache<CacheKey, Stored> completed;
+    private final ConcurrentMap<CacheKey, CompletableFuture<Stored>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyStore(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper, CacheFactory cacheFactory,
+            @Value("${app.idempotency.cache-size:10000}") long cacheSize,
+            @Value("${app.idempotency.retention:24h}") Duration retention) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.retention = retention;
+        this.completed = cacheFactory.build("idempotency", cacheSize, retention);
+    }
+
+    /**
+     * Runs a create once per key and replays its response afterwards.
+     * @param scope Endpoint the key belongs to
+     * @param principal Name of the user that sent the key
+     * @param key The client supplied Idempotency-Key
+     * @param request The request body, fingerprinted to detect key reuse
+     * @param responseType Type of the response body
+     * @param action Creates the resource and returns its response; runs in the key's transaction
+     * @return The response, with replayed set when it comes from an earlier request
+     * @throws HandlerException with IDEMPOTENCY_KEY_REUSED if the key was used with another request
+     */
+    public <T> IdempotentResponse<T> execute(String scope, String principal, String key, Object request,
+            Class<T> responseType, Supplier<IdempotentResponse<T>> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new HandlerException(INVALID_KEY, "VALIDATION_ERROR");
+        }
+        CacheKey cacheKey = new CacheKey(scope, principal, key);
+        String fingerprint = fingerprint(request);
+
+        Stored stored = completed.getIfPresent(cacheKey);
+        if (stored != null) {
+            return replay(stored, fingerprint, responseType);
+        }
+
+        // Concurrent retries on this node wait for the first one instead of queueing on the row lock
+        CompletableFuture<Stored> mine = new CompletableFuture<>();
+        CompletableFuture<Stored> running = inFlight.putIfAbsent(cacheKey, mine);
+        if (running != null) {
+            try {
+                return replay(running.join(), fingerprint, responseType);
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        AtomicReference<IdempotentResponse<T>> fresh = new AtomicReference<>();
+        try {
+            Stored result = transactionTemplate.execute(status -> {
+                try {
+                    jdbcTemplate.update(INSERT, scope, principal, key, fingerprint,
+                            Timestamp.valueOf(LocalDateTime.now()));
+                } catch (DuplicateKeyException e) {
+                    return load(scope, principal, key);
+                }
+                IdempotentResponse<T> response = action.get();
+                fresh.set(response);
+                Stored created = new Stored(fingerprint, response.etag(), toJson(response.body()), false);
+                jdbcTemplate.update(COMPLETE, created.etag(), created.body(), scope, principal, key);
+                return created;
+            });
+            completed.put(cacheKey, result.asReplay());
+            mine.complete(result.asReplay());
+            return result.replayed() ? replay(result, fingerprint, responseType) : fresh.get();
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(cacheKey, mine);
+        }
+    }
+
+    /**
+     * Deletes keys older than the retention period, in bounded batches.
+     */
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval:PT1H}")
+    public void purge() {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minus(retention));
+        try {
+            while (jdbcTemplate.update(PURGE, cutoff, PURGE_BATCH) == PURGE_BATCH) {
+                // keep deleting until a batch comes back short
+            }
+        } catch (DataAccessException e) {
+            throw new HandlerException(ERROR_STORING + e.getMessage(), "DATABASE_ERROR");
+        }
+    }
+
+    private Stored load(String scope, String principal, String key) {
+        List<Stored> rows = jdbcTemplate.query(SELECT, (rs, rowNum) -> new Stored(
+                rs.getString("fingerprint"), rs.getString("etag"), rs.getString("response"), true),
+                scope, principal, key);
+        if (rows.isEmpty() || rows.get(0).body() == null) {
+            throw new HandlerException(ERROR_STORING + key, "CONFLICT");
+        }
+        return rows.get(0);
+    }
+
+    private <T> IdempotentResponse<T> replay(Stored stored, String fingerprint, Class<T> responseType) {
+        if (!stored.fingerprint().equals(fingerprint)) {
+            throw new HandlerException(KEY_REUSED, "IDEMPOTENCY_KEY_REUSED");
+        }
+        return new IdempotentResponse<>(fromJson(stored.body(), responseType), stored.etag(), true);
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(
+                    objectMapper.writeValueAsString(request).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new HandlerException(ERROR_STORING + e.getMessage(), "INTERNAL_ERROR");
+        }
+    }
+
+    private String toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new HandlerException(ERROR_STORING + e.getMessage(), "INTERNAL_ERROR");
+        }
+    }
+
+    private <T> T fromJson(String body, Class<T> type) {
+        try {
+            return objectMapper.readValue(body, type);
+        } catch (JsonProcessingException e) {
+            throw new HandlerException(ERROR_STORING + e.getMessage(), "INTERNAL_ERROR");
+        }
+    }
+
+    private record CacheKey(String scope, String principal, String key) {
+    }
+
+    private record Stored(String fingerprint, String etag, String body, boolean replayed) {
+        Stored asReplay() {
+            return new Stored(fingerprint, etag, body, true);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.app.shared.infrastructure.idempotency;
+
+/**
+ * Idempotent Response
+ * Response of a request executed under an Idempotency-Key.
+ *
+ * @param body     The response body
+ * @param etag     The response ETag
+ * @param replayed Whether the response was stored by an earlier request with the same key
+ */
+public record IdempotentResponse<T>(T body, String etag, boolean replayed) {
+}
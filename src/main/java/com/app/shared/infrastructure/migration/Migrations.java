@@ -0,0 +1,58 @@
+package com.app.shared.infrastructure.migration;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.app.shared.application.exception.HandlerException;
+
+/**
+ * Migrations
+ * Runs one-time data migrations exactly once across every instance.
+ * The marker row is inserted first, in the migration's own transaction: a
+ * second instance starting at the same time blocks on the uncommitted row and
+ * then sees it, and a failed migration leaves no marker, so it runs again on
+ * the next start.
+ */
+@Component
+public class Migrations {
+
+    private static final String MARK =
+            "INSERT IGNORE INTO migrations (name, applied_at) VALUES (?, ?)";
+    private static final String ERROR_MIGRATING = "Error al aplicar la migración: ";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public Migrations(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Runs a migration unless it was already applied.
+     * @param name Unique name of the migration
+     * @param migration The work, run in the same transaction as the marker
+     * @return true if the migration ran now, false if it had already been applied
+     * @throws HandlerException if the migration fails
+     */
+    public boolean runOnce(String name, Runnable migration) {
+        try {
+            Boolean ran = transactionTemplate.execute(status -> {
+                if (jdbcTemplate.update(MARK, name, Timestamp.valueOf(LocalDateTime.now())) == 0) {
+                    return false;
+                }
+                migration.run();
+                return true;
+            });
+            return Boolean.TRUE.equals(ran);
+        } catch (DataAccessException e) {
+            throw new HandlerException(ERROR_MIGRATING + name + ": " + e.getMessage(), "DATABASE_ERROR");
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.app.shared.infrastructure.pagination;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Json Page Writer
+ * Streams a keyset page as {"items":[...],"nextCursor":...,"limit":n} directly
+ * to the response output stream. Rows are serialized as they are read from the
+ * database, so memory use does not depend on the page or table size.
+ */
+public final class JsonPageWriter {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    private JsonPageWriter() {
+    }
+
+    /**
+     * Bounds a client supplied page size to [1, MAX_LIMIT].
+     * @param limit The requested page size, may be null
+     * @return The page size to use
+     */
+    public static int resolveLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    /**
+     * Builds a response body that streams one page.
+     * The source is asked for up to limit + 1 rows; the extra row is never
+     * written and only signals that a next page exists.
+     *
+     * @param objectMapper The mapper used to serialize each item
+     * @param limit The page size
+     * @param source Pushes rows, in key order, into the given consumer
+     * @param toResponse Converts a row into the serialized item
+     * @param cursorOf Builds the cursor pointing after the given row
+     * @return The streaming response body
+     */
+    public static <T, R> StreamingResponseBody stream(ObjectMapper objectMapper, int limit,
+            Consumer<Consumer<T>> source, Function<T, R> toResponse, Function<T, String> cursorOf) {
+        return stream(objectMapper, limit, source, toResponse, cursorOf, Map.of());
+    }
+
+    /**
+     * Builds a response body that streams one page followed by extra top-level
+     * fields (e.g. facet counts) computed before streaming started.
+     *
+     * @param objectMapper The mapper used to serialize each item
+     * @param limit The page size
+     * @param source Pushes rows, in key order, into the given consumer
+     * @param toResponse Converts a row into the serialized item
+     * @param cursorOf Builds the cursor pointing after the given row
+     * @param extraFields Additional fields written after the page metadata
+     * @return The streaming response body
+     */
+    public static <T, R> StreamingResponseBody stream(ObjectMapper objectMapper, int limit,
+            Consumer<Consumer<T>> source, Function<T, R> toResponse, Function<T, String> cursorOf,
+            Map<String, ?> extraFields) {
+        return out -> {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            PageState<T> state = new PageState<>();
+
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("items");
+            try {
+                source.accept(row -> {
+                    if (state.written == limit) {
+                        state.hasMore = true;
+                        return;
+                    }
+                    try {
+                        generator.writeObject(toResponse.apply(row));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    state.last = row;
+                    state.written++;
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            generator.writeEndArray();
+            if (state.hasMore) {
+                generator.writeStringField("nextCursor", cursorOf.apply(state.last));
+            } else {
+                generator.writeNullField("nextCursor");
+            }
+            generator.writeNumberField("limit", limit);
+            for (Map.Entry<String, ?> field : extraFields.entrySet()) {
+                generator.writeObjectField(field.getKey(), field.getValue());
+            }
+            generator.writeEndObject();
+            generator.close();
+        };
+    }
+
+    private static final class PageState<T> {
+        private int written;
+        private boolean hasMore;
+        private T last;
+    }
+}
@@ -0,0 +1,75 @@
+package com.app.shared.infrastructure.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.app.shared.application.exception.HandlerException;
+
+/**
+ * Page Cursor
+ * Encodes and decodes the opaque cursors used by keyset-paginated endpoints.
+ * A cursor carries the sort key values of the last row of a page, so the next
+ * page can be fetched with a seek predicate instead of an OFFSET scan.
+ */
+public final class PageCursor {
+
+    private static final String SEPARATOR = "|";
+    private static final String INVALID_CURSOR = "Cursor inválido: ";
+
+    private PageCursor() {
+    }
+
+    /**
+     * Encodes the given key values into an opaque, URL-safe cursor.
+     * @param values The sort key values of the last row returned
+     * @return The encoded cursor
+     */
+    public static String encode(Object... values) {
+        StringBuilder raw = new StringBuilder();
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                raw.append(SEPARATOR);
+            }
+            raw.append(values[i]);
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor produced by {@link #encode(Object...)}.
+     * @param cursor The opaque cursor received from the client
+     * @param expectedParts The number of key values the cursor must contain
+     * @return The decoded key values, in the order they were encoded
+     * @throws HandlerException if the cursor is malformed
+     */
+    public static String[] decode(String cursor, int expectedParts) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            if (parts.length != expectedParts) {
+                throw new HandlerException(INVALID_CURSOR + cursor, "VALIDATION_ERROR");
+            }
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new HandlerException(INVALID_CURSOR + cursor, "VALIDATION_ERROR");
+        }
+    }
+
+    /**
+     * Decodes a single-key cursor holding a numeric id.
+     * @param cursor The opaque cursor, may be null for the first page
+     * @return The decoded id, or null when no cursor was given
+     * @throws HandlerException if the cursor is malformed
+     */
+    public static Long decodeId(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(decode(cursor, 1)[0]);
+        } catch (NumberFormatException e) {
+            throw new HandlerException(INVALID_CURSOR + cursor, "VALIDATION_ERROR");
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.app.shared.infrastructure.sequence;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.app.shared.application.exception.HandlerException;
+
+/**
+ * Block Sequences
+ * Hi/lo allocator for named, collision-free sequences shared by every app
+ * instance. A node reserves a block of values by moving the sequence's
+ * high-water mark in the database, then hands the values out with an
+ * in-memory atomic increment until the block is used up.
+ * Values are unique and increase per node; across nodes they interleave by
+ * block, and the unused tail of a block is skipped when a node stops.
+ */
+@Component
+public class BlockSequences {
+
+    // Moves the mark and leaves the new one in the connection's LAST_INSERT_ID()
+    private static final String RESERVE =
+            "INSERT INTO sequence_blocks (name, next_value) VALUES (?, LAST_INSERT_ID(1 + ?)) "
+            + "ON DUPLICATE KEY UPDATE next_value = LAST_INSERT_ID(next_value + ?)";
+    private static final String RESERVED_END = "SELECT LAST_INSERT_ID()";
+    private static final String ERROR_RESERVING = "Error al reservar un bloque de la secuencia: ";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate reserveTransaction;
+    private final Map<String, Sequence> sequences = new ConcurrentHashMap<>();
+
+    public BlockSequences(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.reserveTransaction = new TransactionTemplate(transactionManager);
+        // The reservation commits on its own so the row lock is not held by the caller's transaction
+        this.reserveTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Returns the next value of a sequence.
+     * Only the first call after a block is used up touches the database.
+     * @param name The sequence name
+     * @param blockSize Number of values reserved per database round trip
+     * @return A value no other caller, on any node, will receive
+     * @throws HandlerException if a new block cannot be reserved
+     */
+    public long next(String name, int blockSize) {
+        return sequences.computeIfAbsent(name, key -> new Sequence()).next(name, blockSize);
+    }
+
+    private long reserve(String name, int blockSize) {
+        try {
+            Long end = reserveTransaction.execute(status -> jdbcTemplate.execute((ConnectionCallback<Long>) con -> {
+                try (var reserve = con.prepareStatement(RESERVE)) {
+                    reserve.setString(1, name);
+                    reserve.setLong(2, blockSize);
+                    reserve.setLong(3, blockSize);
+                    reserve.executeUpdate();
+                }
+                try (var select = con.prepareStatement(RESERVED_END); var rs = select.executeQuery()) {
+                    rs.next();
+                    return rs.getLong(1);
+                }
+            }));
+            return end - blockSize;
+        } catch (DataAccessException e) {
+            throw new HandlerException(ERROR_RESERVING + e.getMessage(), "DATABASE_ERROR");
+        }
+    }
+
+    // Values [next, end) of the block currently owned by this node
+    private record Block(AtomicLong next, long end) {
+    }
+
+    private final class Sequence {
+        private final ReentrantLock refillLock = new ReentrantLock();
+        private volatile Block block = new Block(new AtomicLong(), 0);
+
+        long next(String name, int blockSize) {
+            while (true) {
+                Block current = block;
+                long value = current.next().getAndIncrement();
+                if (value < current.end()) {
+                    return value;
+                }
+                refillLock.lock();
+                try {
+                    if (block == current) {
+                        long start = reserve(name, blockSize);
+                        block = new Block(new AtomicLong(start), start + blockSize);
+                    }
+                } finally {
+                    refillLock.unlock();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.app.shared.infrastructure.transaction;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * After Transaction
+ * Defers side effects on in-process state (caches, indexes) until the current
+ * transaction has finished, so other threads never observe uncommitted data.
+ * When no transaction is active the action runs immediately.
+ */
+public final class AfterTransaction {
+
+    private AfterTransaction() {
+    }
+
+    /**
+     * Runs the action once the current transaction commits.
+     * The action is dropped if the transaction rolls back.
+     * @param action The side effect to run
+     */
+    public static void onCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Runs the action if the current transaction rolls back, to undo in-process
+     * state changed on its behalf. Does nothing when no transaction is active.
+     * @param action The compensation to run
+     */
+    public static void onRollback(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    action.run();
+                }
+            }
+        });
+    }
+
+    /**
+     * Runs the action once the current transaction completes, whether it
+     * committed or rolled back.
+     * @param action The side effect to run
+     */
+    public static void onCompletion(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                action.run();
+            }
+        });
+    }
+}
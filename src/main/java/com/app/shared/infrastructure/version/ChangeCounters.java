@@ -0,0 +1,62 @@
+package com.app.shared.infrastructure.version;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.app.shared.application.exception.HandlerException;
+
+/**
+ * Change Counters
+ * Persistent counters bumped in the same transaction as the writes they track.
+ * Used to build collection-wide ETags: a conditional GET only needs the counter,
+ * never the rows. Increments go to a random slot so that writers do not serialize
+ * on a single row lock; reads sum the slots of one counter (a PK range scan).
+ */
+@Component
+public class ChangeCounters {
+
+    public static final String CATALOG = "catalog";
+
+    private static final int SLOTS = 8;
+    private static final String INCREMENT =
+            "INSERT INTO change_counters (name, slot, value) VALUES (?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE value = value + VALUES(value)";
+    private static final String CURRENT =
+            "SELECT COALESCE(SUM(value), 0) FROM change_counters WHERE name = ?";
+    private static final String ERROR_COUNTER = "Error al acceder al contador de cambios: ";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ChangeCounters(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Records one change, joining the current transaction if there is one.
+     * @param name The counter name
+     */
+    public void increment(String name) {
+        try {
+            jdbcTemplate.update(INCREMENT, name, ThreadLocalRandom.current().nextInt(SLOTS), 1L);
+        } catch (DataAccessException e) {
+            throw new HandlerException(ERROR_COUNTER + e.getMessage(), "DATABASE_ERROR");
+        }
+    }
+
+    /**
+     * Returns the number of changes recorded so far.
+     * @param name The counter name
+     * @return The current value, 0 if nothing was recorded yet
+     */
+    public long current(String name) {
+        try {
+            Long value = jdbcTemplate.queryForObject(CURRENT, Long.class, name);
+            return value == null ? 0L : value;
+        } catch (DataAccessException e) {
+            throw new HandlerException(ERROR_COUNTER + e.getMessage(), "DATABASE_ERROR");
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package com.app.users.application;
 
 import java.util.Collections;
+import java.util.List;
+
+import org.springframework.security.core.GrantedAuthority;
 
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -11,7 +15,7 @@ import com.app.users.domain.IUserRepository;
 import com.app.users.domain.User;
 
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     private static final String USER_NOT_FOUND_MESSAGE = "Usuario no encontrado con email: ";
     private static final String USER_NOT_FOUND_ERROR_MESSAGE = "Error al buscar usuario por email: ";
@@ -35,6 +39,18 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         }
     }
 
+    /**
+     * Stores a password rehashed with the current BCrypt cost after a
+     * successful login.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = findUserByEmail(userDetails.getUsername());
+        user.setPassword(newPassword);
+        userRepository.save(user);
+        return createUserDetails(user);
+    }
+
     private User findUserByEmail(String email) {
         try {
             User user = userRepository.findByEmail(email).orElse(null);
@@ -53,6 +69,14 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         return new org.springframework.security.core.userdetails.User(
                 user.getEmail(),
                 user.getPassword(),
-                Collections.emptyList());
+                authoritiesOf(user));
+    }
+
+    /**
+     * Authorities granted to a user, also written into their access tokens.
+     * Users have no roles yet, so the list is empty.
+     */
+    public static List<GrantedAuthority> authoritiesOf(User user) {
+        return Collections.emptyList();
     }
 } 
\ No newline at end of file
@@ -16,9 +16,11 @@ public class UserService implements IUserService {
     private static final String USER_NOT_FOUND = "Usuario no encontrado con ID: ";
 
     private final IUserRepository userRepository;
+    private final UserStatusCache userStatusCache;
 
-    public UserService(IUserRepository userRepository) {
+    public UserService(IUserRepository userRepository, UserStatusCache userStatusCache) {
         this.userRepository = userRepository;
+        this.userStatusCache = userStatusCache;
     }
 
     @Override
@@ -60,7 +62,9 @@ public class UserService implements IUserService {
             User existingUser = findById(id);
             existingUser.setName(user.getName());
             existingUser.setEmail(user.getEmail());
-            return userRepository.save(existingUser);
+            User updated = userRepository.save(existingUser);
+            userStatusCache.invalidate(id);
+            return updated;
         } catch (Exception e) {
             throw new HandlerException(e.getMessage(), "ERROR_UPDATE_USER");
         }
@@ -72,6 +76,7 @@ public class UserService implements IUserService {
         try {
             User user = findById(id);
             userRepository.delete(user);
+            userStatusCache.invalidate(id);
         } catch (Exception e) {
             throw new HandlerException(e.getMessage(), "ERROR_DELETE_USER");
         }
@@ -0,0 +1,55 @@
+package com.app.users.application;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.app.shared.infrastructure.cache.CacheFactory;
+import com.app.shared.infrastructure.transaction.AfterTransaction;
+import com.app.users.domain.IUserRepository;
+import com.app.users.domain.User;
+import com.github.benmanes.caffeine.cache.Cache;
+
+/**
+ * User Status Cache
+ * Bounded cache of the current email of each user ID, so requests
+ * authenticated from token claims can reject deleted users, or tokens issued
+ * for an email the user no longer has, without a query per request.
+ * Entries are dropped by UserService when a user changes; the TTL bounds how
+ * long other instances may keep a stale entry.
+ */
+@Component
+public class UserStatusCache {
+
+    private final IUserRepository userRepository;
+    private final Cache<Long, Optional<String>> emails;
+
+    public UserStatusCache(IUserRepository userRepository, CacheFactory cacheFactory,
+            @Value("${app.auth.user-status.max-size:10000}") long maxSize,
+            @Value("${app.auth.user-status.ttl:5m}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.emails = cacheFactory.build("users.status", maxSize, ttl);
+    }
+
+    /**
+     * Tells whether a user still exists with the email a token was issued for.
+     * @param userId The user ID from the token
+     * @param email The email from the token
+     * @return true if the user exists and still has that email
+     */
+    public boolean isActive(Long userId, String email) {
+        return emails.get(userId, id -> userRepository.findById(id).map(User::getEmail))
+                .map(email::equals)
+                .orElse(false);
+    }
+
+    /**
+     * Drops a user's entry once the current transaction commits.
+     * @param userId The ID of the updated or deleted user
+     */
+    public void invalidate(Long userId) {
+        AfterTransaction.onCommit(() -> emails.invalidate(userId));
+    }
+}
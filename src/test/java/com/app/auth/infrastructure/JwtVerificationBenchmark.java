@@ -0,0 +1,96 @@
+package com.app.auth.infrastructure;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.app.auth.domain.JwtClaims;
+import com.app.shared.infrastructure.cache.CacheFactory;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * JWT Verification Benchmark
+ * Per-request cost of authenticating a bearer token:
+ * - legacy: what JwtRequestFilter did before the key and parser were built
+ *   once, i.e. extractUsername plus validateToken, three key derivations and
+ *   three signature checks per request
+ * - parseOnce: JwtUtils.parse plus validateToken, one signature check
+ * - cached: VerifiedTokenCache, no signature check once the token was seen
+ *
+ * Run with:
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=cp.txt
+ * java -cp target/test-classes:target/classes:$(cat cp.txt) org.openjdk.jmh.Main JwtVerificationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+    private static final String EMAIL = "usuario@example.com";
+
+    private JwtUtils jwtUtils;
+    private VerifiedTokenCache verifiedTokens;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = new JwtUtils(SECRET, 3_600_000);
+        CacheFactory cacheFactory = new CacheFactory(new SimpleMeterRegistry(), 10_000, Duration.ofMinutes(5));
+        verifiedTokens = new VerifiedTokenCache(jwtUtils, cacheFactory, true, 10_000, Duration.ofMinutes(5));
+        userDetails = User.withUsername(EMAIL).password("").authorities(List.of()).build();
+        token = jwtUtils.generateToken(1L, EMAIL, List.of());
+    }
+
+    @Benchmark
+    public boolean legacy() {
+        String username = legacyClaims(token).getSubject();
+        return username != null
+                && legacyClaims(token).getSubject().equals(userDetails.getUsername())
+                && !legacyClaims(token).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public boolean parseOnce() {
+        JwtClaims claims = jwtUtils.parse(token);
+        return jwtUtils.validateToken(claims, userDetails);
+    }
+
+    @Benchmark
+    public boolean cached() {
+        JwtClaims claims = verifiedTokens.parse(token);
+        return jwtUtils.validateToken(claims, userDetails);
+    }
+
+    // One call of the former extractAllClaims: key and parser rebuilt every time
+    private static Claims legacyClaims(String token) {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
@@ -0,0 +1,170 @@
+package com.app.orders.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.app.orders.domain.IOrderService;
+import com.app.orders.domain.Order;
+import com.app.orders.domain.OrderIngestion;
+import com.app.shared.application.exception.HandlerException;
+import com.app.shared.infrastructure.cache.CacheFactory;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class OrderIngestionServiceTests {
+
+    private final IOrderService orderService = mock(IOrderService.class);
+    private final AtomicLong ids = new AtomicLong();
+    private OrderIngestionService ingestion;
+
+    private OrderIngestionService ingestion(int queueCapacity) {
+        CacheFactory cacheFactory = new CacheFactory(new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+        ingestion = new OrderIngestionService(orderService, cacheFactory, queueCapacity, 500, Duration.ofHours(1));
+        return ingestion;
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (ingestion != null) {
+            ingestion.stop();
+        }
+    }
+
+    @Test
+    void commitsQueuedOrdersAsOneBatch() throws InterruptedException {
+        when(orderService.saveAll(anyList())).thenAnswer(call -> {
+            List<Order> orders = call.getArgument(0);
+            orders.forEach(this::assignId);
+            return orders;
+        });
+        OrderIngestionService service = ingestion(10);
+        List<OrderIngestion> queued = List.of(
+                service.submit(order("a")), service.submit(order("b")), service.submit(order("c")));
+        assertThat(queued).allMatch(submitted -> OrderIngestion.QUEUED.equals(submitted.status()));
+
+        service.start();
+        service.stop();
+
+        verify(orderService, times(1)).saveAll(anyList());
+        verify(orderService, never()).save(any());
+        assertThat(queued).allSatisfy(submitted -> {
+            OrderIngestion status = service.status(submitted.trackingId());
+            assertThat(status.status()).isEqualTo(OrderIngestion.CREATED);
+            assertThat(status.orderId()).isNotNull();
+        });
+    }
+
+    @Test
+    void retriesEachOrderWhenTheBatchFails() throws InterruptedException {
+        // The failed batch has already stamped the orders it was given, as saveAll does before its later steps
+        when(orderService.saveAll(anyList())).thenAnswer(call -> {
+            List<Order> orders = call.getArgument(0);
+            orders.forEach(order -> {
+                assignId(order);
+                order.setVersion(0L);
+            });
+            throw new HandlerException("Stock insuficiente", "CONFLICT");
+        });
+        List<Order> retried = new ArrayList<>();
+        when(orderService.save(any())).thenAnswer(call -> {
+            Order order = call.getArgument(0);
+            retried.add(order.copy());
+            if ("bad".equals(order.getCustomerEmail())) {
+                throw new HandlerException("Stock insuficiente", "CONFLICT");
+            }
+            return assignId(order);
+        });
+        OrderIngestionService service = ingestion(10);
+        OrderIngestion first = service.submit(order("a"));
+        OrderIngestion bad = service.submit(order("bad"));
+        OrderIngestion last = service.submit(order("c"));
+
+        service.start();
+        service.stop();
+
+        verify(orderService, times(3)).save(any());
+        assertThat(retried).allSatisfy(order -> {
+            assertThat(order.getId()).isNull();
+            assertThat(order.getVersion()).isNull();
+        });
+        assertThat(service.status(first.trackingId()).status()).isEqualTo(OrderIngestion.CREATED);
+        assertThat(service.status(last.trackingId()).status()).isEqualTo(OrderIngestion.CREATED);
+        OrderIngestion failed = service.status(bad.trackingId());
+        assertThat(failed.status()).isEqualTo(OrderIngestion.FAILED);
+        assertThat(failed.message()).isEqualTo("Stock insuficiente");
+    }
+
+    @Test
+    void submitAndWaitReturnsTheCommittedOrder() {
+        when(orderService.saveAll(anyList())).thenAnswer(call -> {
+            List<Order> orders = call.getArgument(0);
+            orders.forEach(this::assignId);
+            return orders;
+        });
+        OrderIngestionService service = ingestion(10);
+        service.start();
+
+        OrderIngestion created = service.submitAndWait(order("a"), Duration.ofSeconds(10));
+
+        assertThat(created.status()).isEqualTo(OrderIngestion.CREATED);
+        assertThat(created.orderNumber()).startsWith("ORD-");
+    }
+
+    @Test
+    void rejectsOrdersWhenTheQueueIsFull() {
+        OrderIngestionService service = ingestion(1);
+        service.submit(order("a"));
+
+        assertThatThrownBy(() -> service.submit(order("b")))
+                .isInstanceOf(HandlerException.class)
+                .extracting("errorCode").isEqualTo("SERVICE_UNAVAILABLE");
+    }
+
+    @Test
+    void rejectsOrdersOnceStopped() throws InterruptedException {
+        OrderIngestionService service = ingestion(10);
+        service.start();
+        service.stop();
+
+        assertThatThrownBy(() -> service.submit(order("a")))
+                .isInstanceOf(HandlerException.class)
+                .extracting("errorCode").isEqualTo("SERVICE_UNAVAILABLE");
+    }
+
+    @Test
+    void unknownTrackingIdIsNotFound() {
+        OrderIngestionService service = ingestion(10);
+
+        assertThatThrownBy(() -> service.status("missing"))
+                .isInstanceOf(HandlerException.class)
+                .extracting("errorCode").isEqualTo("NOT_FOUND");
+    }
+
+    private Order assignId(Order order) {
+        long id = ids.incrementAndGet();
+        order.setId(id);
+        order.setOrderNumber("ORD-" + id);
+        return order;
+    }
+
+    private static Order order(String customerEmail) {
+        Order order = new Order();
+        order.setCustomerEmail(customerEmail);
+        return order;
+    }
+}
@@ -0,0 +1,131 @@
+package com.app.orders.infrastructure;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.app.orders.domain.IOrderRepository;
+import com.app.orders.domain.Order;
+import com.app.orders.domain.OrderLine;
+import com.app.orders.domain.OrderStatus;
+import com.app.orders.infrastructure.events.OrderEventDatasource;
+import com.app.products.domain.Product;
+import com.app.shared.application.exception.HandlerException;
+import com.app.shared.infrastructure.sequence.BlockSequences;
+
+class OrderDatasourceTests {
+
+    private static final Long ORDER_ID = 1L;
+
+    private final IOrderRepository orderRepository = mock(IOrderRepository.class);
+    private final OrderLineDatasource orderLineDatasource = mock(OrderLineDatasource.class);
+    private Order stored;
+    private OrderDatasource orders;
+
+    @BeforeEach
+    void setUp() {
+        orders = new OrderDatasource(orderRepository, mock(JdbcTemplate.class), mock(BlockSequences.class),
+                mock(OrderStatsDatasource.class), mock(OrderEventDatasource.class), orderLineDatasource,
+                100);
+        stored = new Order();
+        stored.setId(ORDER_ID);
+        stored.setVersion(4L);
+        stored.setStatus(OrderStatus.PENDING.name());
+        stored.setOrderValue(24000.0);
+        stored.setLines(new ArrayList<>(List.of(line(stored, 10L, 2))));
+        when(orderRepository.findById(ORDER_ID)).thenReturn(Optional.of(stored));
+        when(orderRepository.saveAndFlush(any())).thenAnswer(call -> call.getArgument(0));
+    }
+
+    @Test
+    void updateWithoutLinesKeepsTheLinesAndTheirStock() {
+        Order changes = new Order();
+        changes.setDescription("Entregar en la tarde");
+        changes.setStatus(OrderStatus.SHIPPED.name());
+
+        Order updated = orders.update(changes, ORDER_ID);
+
+        assertThat(updated.getLines()).hasSize(1);
+        assertThat(updated.getOrderValue()).isEqualTo(24000.0);
+        assertThat(updated.getDescription()).isEqualTo("Entregar en la tarde");
+        verify(orderLineDatasource, never()).price(any());
+        verify(orderLineDatasource, never()).reserveChange(any(), any());
+    }
+
+    @Test
+    void updateWithLinesReservesTheDifference() {
+        Order changes = new Order();
+        changes.setDescription("Pedido");
+        changes.setLines(new ArrayList<>(List.of(line(null, 10L, 5))));
+
+        Order updated = orders.update(changes, ORDER_ID);
+
+        assertThat(updated.getLines()).extracting(OrderLine::getQuantity).containsExactly(5);
+        verify(orderLineDatasource).reserveChange(any(), eq(changes.getLines()));
+    }
+
+    @Test
+    void linesOfAnOrderNoLongerPendingCannotChange() {
+        stored.setStatus(OrderStatus.SHIPPED.name());
+        Order changes = new Order();
+        changes.setDescription("Pedido");
+        changes.setLines(new ArrayList<>(List.of(line(null, 10L, 5))));
+
+        assertThatThrownBy(() -> orders.update(changes, ORDER_ID))
+                .isInstanceOf(HandlerException.class)
+                .extracting("errorCode").isEqualTo("CONFLICT");
+        verify(orderLineDatasource, never()).reserveChange(any(), any());
+        verify(orderRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void staleIfMatchFailsThePreconditionWithoutWriting() {
+        assertThatThrownBy(() -> orders.cancel(ORDER_ID, 3L))
+                .isInstanceOf(HandlerException.class)
+                .extracting("errorCode").isEqualTo("PRECONDITION_FAILED");
+        verify(orderRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void raceLostWithIfMatchFailsThePrecondition() {
+        when(orderRepository.saveAndFlush(any())).thenThrow(new OptimisticLockingFailureException("stale"));
+
+        assertThatThrownBy(() -> orders.cancel(ORDER_ID, 4L))
+                .isInstanceOf(HandlerException.class)
+                .extracting("errorCode").isEqualTo("PRECONDITION_FAILED");
+    }
+
+    @Test
+    void raceLostWithoutIfMatchIsAConflict() {
+        when(orderRepository.saveAndFlush(any())).thenThrow(new OptimisticLockingFailureException("stale"));
+
+        assertThatThrownBy(() -> orders.cancel(ORDER_ID, null))
+                .isInstanceOf(HandlerException.class)
+                .extracting("errorCode").isEqualTo("CONFLICT");
+    }
+
+    private static OrderLine line(Order order, Long productId, int quantity) {
+        Product product = new Product();
+        product.setId(productId);
+        OrderLine line = new OrderLine();
+        line.setOrder(order);
+        line.setProduct(product);
+        line.setQuantity(quantity);
+        line.setUnitPrice(12000.0);
+        return line;
+    }
+}
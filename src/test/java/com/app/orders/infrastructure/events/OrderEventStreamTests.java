@@ -0,0 +1,115 @@
+package com.app.orders.infrastructure.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.app.orders.domain.OrderEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class OrderEventStreamTests {
+
+    private static final String ANA = "ana@campo.co";
+    private static final String LUIS = "luis@campo.co";
+
+    private OrderEventStream stream = stream(100);
+
+    @AfterEach
+    void tearDown() {
+        stream.close();
+    }
+
+    @Test
+    void unknownLastEventIdAsksForAReset() {
+        stream.consume(List.of(event(1, ANA)));
+
+        assertThat(replaySince(99, ANA)).containsExactly("event:reset");
+    }
+
+    @Test
+    void replaysTheUsersEventsThatArrivedAfterTheLastOne() {
+        stream.consume(List.of(event(5, ANA), event(6, LUIS)));
+        stream.consume(List.of(event(7, ANA)));
+
+        assertThat(replaySince(5, ANA)).containsExactly("id:7");
+        assertThat(replaySince(5, LUIS)).containsExactly("id:6");
+        assertThat(replaySince(7, ANA)).isEmpty();
+    }
+
+    @Test
+    void replaysInArrivalOrderEvenWhenIdsArriveOutOfOrder() {
+        // Outbox ids are allocated at insert, so a slower transaction commits a lower id later
+        stream.consume(List.of(event(5, ANA)));
+        stream.consume(List.of(event(8, ANA)));
+        stream.consume(List.of(event(3, ANA)));
+
+        assertThat(replaySince(5, ANA)).containsExactly("id:8", "id:3");
+        assertThat(replaySince(8, ANA)).containsExactly("id:3");
+    }
+
+    @Test
+    void ignoresRedeliveredEventsButNotLowerNewOnes() {
+        stream.consume(List.of(event(5, ANA), event(6, ANA)));
+        stream.consume(List.of(event(5, ANA), event(6, ANA), event(4, ANA)));
+
+        assertThat(replaySince(5, ANA)).containsExactly("id:6", "id:4");
+    }
+
+    @Test
+    void evictedEventsAskForAReset() {
+        stream.close();
+        stream = stream(2);
+        stream.consume(List.of(event(1, ANA), event(2, ANA), event(3, ANA)));
+
+        assertThat(replaySince(1, ANA)).containsExactly("event:reset");
+        assertThat(replaySince(2, ANA)).containsExactly("id:3");
+    }
+
+    @Test
+    void skipsEventsWithoutACustomer() {
+        OrderEvent broken = event(2, ANA);
+        broken.setPayload("not json");
+        stream.consume(List.of(event(1, ANA), broken, event(3, ANA)));
+
+        assertThat(replaySince(1, ANA)).containsExactly("id:3");
+        assertThat(replaySince(2, ANA)).containsExactly("event:reset");
+    }
+
+    private List<String> replaySince(long lastEventId, String customerEmail) {
+        synchronized (stream) {
+            return stream.replaySince(lastEventId, customerEmail).stream()
+                    .map(OrderEventStreamTests::firstLine)
+                    .toList();
+        }
+    }
+
+    // "id:7" for an order event, "event:reset" for a reset
+    private static String firstLine(Supplier<SseEmitter.SseEventBuilder> event) {
+        String sse = event.get().build().stream()
+                .map(part -> part.getData().toString())
+                .collect(Collectors.joining());
+        return sse.substring(0, sse.indexOf('\n'));
+    }
+
+    private static OrderEventStream stream(int replaySize) {
+        return new OrderEventStream(new ObjectMapper(), replaySize, 100, Duration.ofMinutes(1));
+    }
+
+    private static OrderEvent event(long id, String customerEmail) {
+        OrderEvent event = new OrderEvent();
+        event.setId(id);
+        event.setOrderId(id * 10);
+        event.setType("ORDER_UPDATED");
+        event.setPayload("{\"customerEmail\":\"" + customerEmail + "\"}");
+        event.setCreatedAt(LocalDateTime.now());
+        return event;
+    }
+}
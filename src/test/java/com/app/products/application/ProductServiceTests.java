@@ -0,0 +1,113 @@
+package com.app.products.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import com.app.products.domain.Product;
+import com.app.products.domain.ProductBulkImportResponse;
+import com.app.products.domain.ProductImportResult;
+import com.app.products.infrastructure.ProductDatasource;
+import com.app.products.infrastructure.mapper.ProductMapper;
+import com.app.shared.application.exception.HandlerException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.validation.Validation;
+
+class ProductServiceTests {
+
+    private final ProductDatasource productDatasource = mock(ProductDatasource.class);
+    private final AtomicLong ids = new AtomicLong();
+    private ProductService productService;
+
+    @BeforeEach
+    void setUp() {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        productService = new ProductService(productDatasource, new ProductMapper(), new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(), transactionManager);
+    }
+
+    @Test
+    void importsValidRowsAndReportsEveryRowInOrder() {
+        when(productDatasource.saveAll(anyList())).thenAnswer(call -> {
+            List<Product> products = call.getArgument(0);
+            products.forEach(product -> product.setId("Cacao".equals(product.getName()) ? null : ids.incrementAndGet()));
+            return products;
+        });
+
+        ProductBulkImportResponse response = productService.bulkImport(body(
+                row("Café"), "{\"name\":\"\",\"description\":\"d\",\"price\":1}", row("Cacao")));
+
+        assertThat(response.getCreated()).isEqualTo(1);
+        assertThat(response.getRejected()).isEqualTo(2);
+        assertThat(response.getResults()).extracting(ProductImportResult::getStatus).containsExactly(
+                ProductImportResult.CREATED, ProductImportResult.INVALID, ProductImportResult.DUPLICATE);
+        verify(productDatasource, times(1)).saveAll(anyList());
+    }
+
+    @Test
+    void retriesEachRowWhenAConcurrentImportTookAName() {
+        when(productDatasource.saveAll(anyList())).thenAnswer(call -> {
+            List<Product> products = call.getArgument(0);
+            if (products.size() > 1 || "Cacao".equals(products.get(0).getName())) {
+                throw new HandlerException("Ya existe un producto con el nombre: Cacao", "CONFLICT");
+            }
+            products.get(0).setId(ids.incrementAndGet());
+            return products;
+        });
+
+        ProductBulkImportResponse response = productService.bulkImport(body(row("Café"), row("Cacao"), row("Maíz")));
+
+        assertThat(response.getResults()).extracting(ProductImportResult::getStatus).containsExactly(
+                ProductImportResult.CREATED, ProductImportResult.DUPLICATE, ProductImportResult.CREATED);
+        assertThat(response.getResults().get(1).getMessage()).contains("Cacao");
+    }
+
+    @Test
+    void reportsMalformedJsonAfterTheRowsBeforeIt() {
+        when(productDatasource.saveAll(anyList())).thenAnswer(call -> {
+            List<Product> products = call.getArgument(0);
+            products.forEach(product -> product.setId(ids.incrementAndGet()));
+            return products;
+        });
+
+        ProductBulkImportResponse response = productService.bulkImport(body(row("Café"), "{\"name\":"));
+
+        assertThat(response.getResults()).extracting(ProductImportResult::getStatus).containsExactly(
+                ProductImportResult.CREATED, ProductImportResult.INVALID);
+    }
+
+    @Test
+    void databaseErrorsAbortTheImport() {
+        when(productDatasource.saveAll(anyList()))
+                .thenThrow(new HandlerException("Error al guardar producto", "DATABASE_ERROR"));
+
+        assertThatThrownBy(() -> productService.bulkImport(body(row("Café"))))
+                .isInstanceOf(HandlerException.class)
+                .extracting("errorCode").isEqualTo("DATABASE_ERROR");
+    }
+
+    private static String row(String name) {
+        return "{\"name\":\"" + name + "\",\"description\":\"Origen Huila\",\"price\":12000,\"stock\":5}";
+    }
+
+    private static ByteArrayInputStream body(String... rows) {
+        return new ByteArrayInputStream(String.join("\n", rows).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,148 @@
+package com.app.products.infrastructure;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import com.app.categories.infrastructure.CategoryDatasource;
+import com.app.products.domain.IProductRepository;
+import com.app.products.domain.Product;
+import com.app.products.infrastructure.search.ProductSearchIndex;
+import com.app.products.infrastructure.stock.StripedStockReservations;
+import com.app.shared.application.exception.HandlerException;
+import com.app.shared.infrastructure.cache.CacheFactory;
+import com.app.shared.infrastructure.version.ChangeCounters;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ProductDatasourceTests {
+
+    private static final String RESERVE = "UPDATE products SET stock = stock - ?";
+    private static final String RELEASE = "UPDATE products SET stock = stock + ?";
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final ChangeCounters changeCounters = mock(ChangeCounters.class);
+    private final StripedStockReservations hotStock = mock(StripedStockReservations.class);
+    private final ProductSearchIndex searchIndex = mock(ProductSearchIndex.class);
+    private ProductDatasource products;
+
+    @BeforeEach
+    void setUp() {
+        CacheFactory cacheFactory = new CacheFactory(new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+        products = new ProductDatasource(mock(IProductRepository.class), jdbcTemplate, cacheFactory,
+                searchIndex, changeCounters, mock(CategoryDatasource.class), hotStock);
+        when(jdbcTemplate.update(startsWith(RESERVE), any(Object[].class))).thenReturn(1);
+    }
+
+    @Test
+    void reservesWithAConditionalUpdatePerProductInIdOrder() {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        quantities.put(2L, 3);
+        quantities.put(1L, 4);
+
+        products.reserveStock(quantities);
+
+        InOrder order = inOrder(jdbcTemplate);
+        order.verify(jdbcTemplate).update(startsWith(RESERVE), eq(4), eq(1L), eq(4));
+        order.verify(jdbcTemplate).update(startsWith(RESERVE), eq(3), eq(2L), eq(3));
+    }
+
+    @Test
+    void stockChangesLeaveTheCatalogVersionAlone() {
+        when(hotStock.isHot(2L)).thenReturn(true);
+        when(hotStock.tryReserve(2L, 1)).thenReturn(true);
+
+        products.reserveStock(Map.of(1L, 4, 2L, 1));
+        products.releaseStock(Map.of(1L, 4));
+
+        verify(changeCounters, never()).increment(any());
+    }
+
+    @Test
+    void searchHitsCarryTheCurrentStock() throws Exception {
+        when(searchIndex.search("cafe", 10)).thenReturn(List.of(product(1L, 50), product(2L, 50), product(3L, 50)));
+        ResultSet rows = mock(ResultSet.class);
+        when(rows.getLong("id")).thenReturn(1L, 3L);
+        when(rows.getInt("stock")).thenReturn(7, 0);
+        doAnswer(call -> {
+            RowCallbackHandler handler = call.getArgument(1);
+            handler.processRow(rows);
+            handler.processRow(rows);
+            return null;
+        }).when(jdbcTemplate).query(startsWith("SELECT id, stock"), any(RowCallbackHandler.class), any(Object[].class));
+
+        List<Product> hits = products.search("cafe", 10);
+
+        // Product 2 was deleted after it was indexed
+        assertThat(hits).extracting(Product::getId).containsExactly(1L, 3L);
+        assertThat(hits).extracting(Product::getStock).containsExactly(7, 0);
+    }
+
+    @Test
+    void insufficientStockIsAConflict() {
+        when(jdbcTemplate.update(startsWith(RESERVE), any(Object[].class))).thenReturn(0);
+
+        assertThatThrownBy(() -> products.reserveStock(Map.of(1L, 5)))
+                .isInstanceOf(HandlerException.class)
+                .extracting("errorCode").isEqualTo("CONFLICT");
+        verify(changeCounters, never()).increment(any());
+    }
+
+    @Test
+    void releasesStockWithoutACondition() {
+        products.releaseStock(Map.of(1L, 5));
+
+        verify(jdbcTemplate).update(startsWith(RELEASE), eq(5), eq(1L));
+        verify(jdbcTemplate, never()).update(startsWith(RESERVE), any(Object[].class));
+    }
+
+    @Test
+    void hotProductsAreServedFromTheStripes() {
+        when(hotStock.isHot(1L)).thenReturn(true);
+        when(hotStock.tryReserve(1L, 5)).thenReturn(true);
+
+        products.reserveStock(Map.of(1L, 5));
+
+        verify(jdbcTemplate, never()).update(startsWith(RESERVE), any(Object[].class));
+    }
+
+    @Test
+    void hotProductsFallBackToTheConditionalUpdate() {
+        when(hotStock.isHot(1L)).thenReturn(true);
+        when(hotStock.tryReserve(anyLong(), anyInt())).thenReturn(false);
+
+        products.reserveStock(Map.of(1L, 5));
+
+        verify(jdbcTemplate).update(startsWith(RESERVE), eq(5), eq(1L), eq(5));
+    }
+
+    private static Product product(Long id, int stock) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName("Producto " + id);
+        product.setStock(stock);
+        return product;
+    }
+}
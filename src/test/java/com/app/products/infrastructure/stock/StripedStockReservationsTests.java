@@ -0,0 +1,120 @@
+package com.app.products.infrastructure.stock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class StripedStockReservationsTests {
+
+    private static final Long HOT_ID = 7L;
+    private static final int CHUNK_SIZE = 20;
+    private static final String CLAIM = "UPDATE products SET stock = stock - ?";
+    private static final String RETURN = "UPDATE products SET stock = stock + ?";
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private StripedStockReservations reservations;
+
+    @BeforeEach
+    void setUp() {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(jdbcTemplate.update(startsWith(CLAIM), any(Object[].class))).thenReturn(1);
+        // A single stripe keeps the allotment arithmetic deterministic
+        reservations = new StripedStockReservations(jdbcTemplate, transactionManager, Set.of(HOT_ID), 1, CHUNK_SIZE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void onlyHotProductsUseTheStripes() {
+        assertThat(reservations.isHot(HOT_ID)).isTrue();
+        assertThat(reservations.isHot(8L)).isFalse();
+    }
+
+    @Test
+    void claimsOneChunkForManySmallReservations() {
+        for (int i = 0; i < CHUNK_SIZE / 5; i++) {
+            assertThat(reservations.tryReserve(HOT_ID, 5)).isTrue();
+        }
+        verify(jdbcTemplate, times(1)).update(startsWith(CLAIM), eq(CHUNK_SIZE), eq(HOT_ID), eq(CHUNK_SIZE));
+
+        assertThat(reservations.tryReserve(HOT_ID, 5)).isTrue();
+        verify(jdbcTemplate, times(2)).update(startsWith(CLAIM), eq(CHUNK_SIZE), eq(HOT_ID), eq(CHUNK_SIZE));
+    }
+
+    @Test
+    void claimsAtLeastTheRequestedQuantity() {
+        assertThat(reservations.tryReserve(HOT_ID, 50)).isTrue();
+
+        verify(jdbcTemplate).update(startsWith(CLAIM), eq(50), eq(HOT_ID), eq(50));
+    }
+
+    @Test
+    void flushReturnsUnsoldUnitsToStock() {
+        reservations.tryReserve(HOT_ID, 5);
+
+        reservations.flush();
+        reservations.flush();
+
+        verify(jdbcTemplate, times(1)).update(startsWith(RETURN), eq(CHUNK_SIZE - 5), eq(HOT_ID));
+    }
+
+    @Test
+    void rollbackPutsTheUnitsBackInTheStripe() {
+        TransactionSynchronizationManager.initSynchronization();
+        reservations.tryReserve(HOT_ID, 5);
+
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        reservations.flush();
+
+        verify(jdbcTemplate).update(startsWith(RETURN), eq(CHUNK_SIZE), eq(HOT_ID));
+    }
+
+    @Test
+    void commitKeepsTheUnitsSold() {
+        TransactionSynchronizationManager.initSynchronization();
+        reservations.tryReserve(HOT_ID, 5);
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        reservations.flush();
+
+        verify(jdbcTemplate).update(startsWith(RETURN), eq(CHUNK_SIZE - 5), eq(HOT_ID));
+    }
+
+    @Test
+    void fallsBackAndFlushesWhenNoChunkCanBeClaimed() {
+        reservations.tryReserve(HOT_ID, 15);
+        when(jdbcTemplate.update(startsWith(CLAIM), any(Object[].class))).thenReturn(0);
+
+        assertThat(reservations.tryReserve(HOT_ID, 10)).isFalse();
+
+        verify(jdbcTemplate).update(startsWith(RETURN), eq(CHUNK_SIZE - 15), eq(HOT_ID));
+    }
+
+    private static void complete(int status) {
+        var synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+}
@@ -0,0 +1,93 @@
+package com.app.shared.adapters;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.net.URI;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.app.shared.application.exception.HandlerException;
+
+class BaseControllerTests {
+
+    private final TestController controller = new TestController();
+
+    @Test
+    void ifMatchCarriesTheVersion() {
+        assertThat(BaseController.versionFromIfMatch("\"v-3\"")).isEqualTo(3L);
+        assertThat(BaseController.versionFromIfMatch("W/\"v-3\"")).isEqualTo(3L);
+        assertThat(BaseController.versionFromIfMatch("\"v-3-s-120\"")).isEqualTo(3L);
+        assertThat(BaseController.versionFromIfMatch(BaseController.etag("v", 42))).isEqualTo(42L);
+    }
+
+    @Test
+    void absentOrWildcardIfMatchIsUnconditional() {
+        assertThat(BaseController.versionFromIfMatch(null)).isNull();
+        assertThat(BaseController.versionFromIfMatch(" ")).isNull();
+        assertThat(BaseController.versionFromIfMatch("*")).isNull();
+    }
+
+    @Test
+    void malformedIfMatchFailsThePrecondition() {
+        assertThatThrownBy(() -> BaseController.versionFromIfMatch("\"abc\""))
+                .isInstanceOf(HandlerException.class)
+                .extracting("errorCode").isEqualTo("PRECONDITION_FAILED");
+    }
+
+    @Test
+    void failedIfMatchIsAnswered412() {
+        assertThat(statusOf("PRECONDITION_FAILED")).isEqualTo(HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @Test
+    void concurrentModificationIsAnswered409() {
+        assertThat(statusOf("CONFLICT")).isEqualTo(HttpStatus.CONFLICT);
+        assertThatThrownBy(() -> controller.handleRequest(() -> {
+            throw new OptimisticLockingFailureException("stale");
+        })).isInstanceOf(HandlerException.class).extracting("errorCode").isEqualTo("CONFLICT");
+    }
+
+    @Test
+    void reusedIdempotencyKeyIsAnswered422() {
+        assertThat(statusOf("IDEMPOTENCY_KEY_REUSED")).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    @Test
+    void unavailableIsAnswered503WithRetryAfter() {
+        ResponseEntity<?> response = controller.handleHandlerException(
+                new HandlerException("La cola de pedidos está llena", "SERVICE_UNAVAILABLE"));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isNotBlank();
+    }
+
+    @Test
+    void otherErrorsAreAnswered400() {
+        assertThat(statusOf("VALIDATION_ERROR")).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void finishedWorkIsCreatedAndPendingWorkIsAccepted() {
+        ResponseEntity<String> created = controller.handleAcceptedRequest(() -> "done", result -> null,
+                result -> result);
+        ResponseEntity<String> accepted = controller.handleAcceptedRequest(() -> "queued",
+                result -> URI.create("/status/1"), result -> result);
+
+        assertThat(created.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(accepted.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        assertThat(accepted.getHeaders().getLocation()).isEqualTo(URI.create("/status/1"));
+    }
+
+    private HttpStatus statusOf(String errorCode) {
+        return HttpStatus.valueOf(controller.handleHandlerException(new HandlerException("error", errorCode))
+                .getStatusCode().value());
+    }
+
+    private static class TestController extends BaseController {
+    }
+}
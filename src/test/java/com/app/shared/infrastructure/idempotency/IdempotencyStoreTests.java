@@ -0,0 +1,142 @@
+package com.app.shared.infrastructure.idempotency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import com.app.shared.application.exception.HandlerException;
+import com.app.shared.infrastructure.cache.CacheFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class IdempotencyStoreTests {
+
+    private static final Map<String, String> REQUEST = Map.of("name", "Café");
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final AtomicInteger creates = new AtomicInteger();
+    private IdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        CacheFactory cacheFactory = new CacheFactory(new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+        store = new IdempotencyStore(jdbcTemplate, transactionManager, new ObjectMapper(), cacheFactory,
+                100, Duration.ofHours(24));
+    }
+
+    @Test
+    void replaysTheFirstResponseForTheSameKey() {
+        IdempotentResponse<String> first = store.execute("products", "ana", "key-1", REQUEST, String.class, create());
+        IdempotentResponse<String> retry = store.execute("products", "ana", "key-1", REQUEST, String.class, create());
+
+        assertThat(first.replayed()).isFalse();
+        assertThat(retry.replayed()).isTrue();
+        assertThat(retry.body()).isEqualTo(first.body());
+        assertThat(retry.etag()).isEqualTo(first.etag());
+        assertThat(creates).hasValue(1);
+        verify(jdbcTemplate, times(1)).update(startsWith("INSERT"), any(Object[].class));
+    }
+
+    @Test
+    void rejectsAKeyReusedWithAnotherRequest() {
+        store.execute("products", "ana", "key-1", REQUEST, String.class, create());
+
+        assertThatThrownBy(() -> store.execute("products", "ana", "key-1", Map.of("name", "Cacao"),
+                String.class, create()))
+                .isInstanceOf(HandlerException.class)
+                .extracting("errorCode").isEqualTo("IDEMPOTENCY_KEY_REUSED");
+        assertThat(creates).hasValue(1);
+    }
+
+    @Test
+    void keysBelongToTheirPrincipal() {
+        IdempotentResponse<String> ana = store.execute("products", "ana", "key-1", REQUEST, String.class, create());
+        IdempotentResponse<String> luis = store.execute("products", "luis", "key-1", REQUEST, String.class, create());
+
+        assertThat(luis.replayed()).isFalse();
+        assertThat(luis.body()).isNotEqualTo(ana.body());
+        assertThat(creates).hasValue(2);
+    }
+
+    @Test
+    void replaysAResponseStoredByAnotherNode() throws Exception {
+        when(jdbcTemplate.update(startsWith("INSERT"), any(Object[].class)))
+                .thenThrow(new DuplicateKeyException("duplicate"));
+        String fingerprint = fingerprintOf(REQUEST);
+        ResultSet row = mock(ResultSet.class);
+        when(row.getString("fingerprint")).thenReturn(fingerprint);
+        when(row.getString("etag")).thenReturn("\"v-0\"");
+        when(row.getString("response")).thenReturn("\"created-elsewhere\"");
+        when(jdbcTemplate.query(startsWith("SELECT"), any(RowMapper.class), any(Object[].class)))
+                .thenAnswer(call -> List.of(call.<RowMapper<?>>getArgument(1).mapRow(row, 0)));
+
+        IdempotentResponse<String> response = store.execute("products", "ana", "key-1", REQUEST, String.class,
+                create());
+
+        assertThat(response.replayed()).isTrue();
+        assertThat(response.body()).isEqualTo("created-elsewhere");
+        assertThat(creates).hasValue(0);
+    }
+
+    @Test
+    void failedCreateCanBeRetried() {
+        assertThatThrownBy(() -> store.execute("products", "ana", "key-1", REQUEST, String.class, () -> {
+            throw new HandlerException("Error al guardar producto", "DATABASE_ERROR");
+        })).isInstanceOf(HandlerException.class);
+
+        IdempotentResponse<String> retry = store.execute("products", "ana", "key-1", REQUEST, String.class, create());
+
+        assertThat(retry.replayed()).isFalse();
+        assertThat(creates).hasValue(1);
+    }
+
+    @Test
+    void rejectsBlankAndOversizedKeys() {
+        assertThatThrownBy(() -> store.execute("products", "ana", " ", REQUEST, String.class, create()))
+                .isInstanceOf(HandlerException.class)
+                .extracting("errorCode").isEqualTo("VALIDATION_ERROR");
+        String oversized = "k".repeat(IdempotencyStore.MAX_KEY_LENGTH + 1);
+        assertThatThrownBy(() -> store.execute("products", "ana", oversized, REQUEST, String.class, create()))
+                .isInstanceOf(HandlerException.class)
+                .extracting("errorCode").isEqualTo("VALIDATION_ERROR");
+    }
+
+    private Supplier<IdempotentResponse<String>> create() {
+        return () -> {
+            int id = creates.incrementAndGet();
+            return new IdempotentResponse<>("product-" + id, "\"v-" + id + "\"", false);
+        };
+    }
+
+    // SHA-256 of the request's JSON, as recorded with the key
+    private static String fingerprintOf(Object request) throws Exception {
+        byte[] json = new ObjectMapper().writeValueAsString(request).getBytes(StandardCharsets.UTF_8);
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json));
+    }
+}
@@ -0,0 +1,101 @@
+package com.app.shared.infrastructure.sequence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import com.app.shared.application.exception.HandlerException;
+
+class BlockSequencesTests {
+
+    private static final int BLOCK_SIZE = 10;
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    // Stands in for sequence_blocks.next_value; each reservation returns the moved mark
+    private final AtomicLong mark = new AtomicLong(1);
+    private BlockSequences sequences;
+
+    @BeforeEach
+    void setUp() {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenAnswer(call -> mark.addAndGet(BLOCK_SIZE));
+        sequences = new BlockSequences(jdbcTemplate, transactionManager);
+    }
+
+    @Test
+    void handsOutABlockPerReservation() {
+        List<Long> values = new ArrayList<>();
+        for (int i = 0; i < 2 * BLOCK_SIZE + 1; i++) {
+            values.add(sequences.next("orders", BLOCK_SIZE));
+        }
+
+        assertThat(values.subList(0, 3)).containsExactly(1L, 2L, 3L);
+        assertThat(values).doesNotHaveDuplicates().isSorted();
+        assertThat(values.get(values.size() - 1)).isEqualTo(2L * BLOCK_SIZE + 1);
+        verify(jdbcTemplate, times(3)).execute(any(ConnectionCallback.class));
+    }
+
+    @Test
+    void keepsOneBlockPerSequenceName() {
+        assertThat(sequences.next("orders", BLOCK_SIZE)).isEqualTo(1L);
+        assertThat(sequences.next("invoices", BLOCK_SIZE)).isEqualTo(1L + BLOCK_SIZE);
+        assertThat(sequences.next("orders", BLOCK_SIZE)).isEqualTo(2L);
+    }
+
+    @Test
+    void concurrentCallersNeverShareAValue() throws Exception {
+        int threads = 8;
+        int perThread = 1_000;
+        Set<Long> values = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> callers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                callers.add(pool.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        values.add(sequences.next("orders", BLOCK_SIZE));
+                    }
+                }));
+            }
+            for (Future<?> caller : callers) {
+                caller.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertThat(values).hasSize(threads * perThread);
+        verify(jdbcTemplate, times(threads * perThread / BLOCK_SIZE)).execute(any(ConnectionCallback.class));
+    }
+
+    @Test
+    void failedReservationIsADatabaseError() {
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenThrow(new QueryTimeoutException("timeout"));
+
+        assertThatThrownBy(() -> sequences.next("orders", BLOCK_SIZE))
+                .isInstanceOf(HandlerException.class)
+                .extracting("errorCode").isEqualTo("DATABASE_ERROR");
+    }
+}